@@ -0,0 +1,63 @@
+package com.giftmaseya.conveyorservice.benchmark;
+
+import com.giftmaseya.conveyorservice.dto.EmploymentDTO;
+import com.giftmaseya.conveyorservice.dto.LoanApplicationRequestDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum;
+import com.giftmaseya.conveyorservice.utils.GenderEnum;
+import com.giftmaseya.conveyorservice.utils.MaritalStatusEnum;
+import com.giftmaseya.conveyorservice.utils.PositionEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static ScoringDataDTO scoring(BigDecimal amount, int term) {
+        EmploymentDTO employment = new EmploymentDTO(
+                EmploymentStatusEnum.BUSINESS_OWNER,
+                "458256",
+                BigDecimal.valueOf(250000),
+                PositionEnum.MIDDLE_MANAGER,
+                130,
+                40
+        );
+
+        return new ScoringDataDTO(
+                amount,
+                term,
+                "Gift",
+                "Masenya",
+                "Senyaman",
+                GenderEnum.MALE,
+                LocalDate.of(1986, 4, 15),
+                "4444",
+                "666666",
+                LocalDate.of(2006, 10, 10),
+                "HomeAffairs",
+                MaritalStatusEnum.MARRIED,
+                2,
+                employment,
+                "5698523641",
+                true,
+                false
+        );
+    }
+
+    static LoanApplicationRequestDTO application(BigDecimal amount, int term) {
+        return new LoanApplicationRequestDTO(
+                amount,
+                term,
+                "Gift",
+                "Masenya",
+                "Senyaman",
+                "senyaman@gmail.com",
+                LocalDate.of(1986, 4, 15),
+                "1234",
+                "123456"
+        );
+    }
+}
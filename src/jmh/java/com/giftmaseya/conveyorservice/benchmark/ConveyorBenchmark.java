@@ -0,0 +1,160 @@
+package com.giftmaseya.conveyorservice.benchmark;
+
+import com.giftmaseya.conveyorservice.dto.CreditDTO;
+import com.giftmaseya.conveyorservice.dto.LoanApplicationRequestDTO;
+import com.giftmaseya.conveyorservice.dto.LoanOfferDTO;
+import com.giftmaseya.conveyorservice.dto.LoanOfferGridRequestDTO;
+import com.giftmaseya.conveyorservice.dto.OfferVariantDTO;
+import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.service.OfferService;
+import com.giftmaseya.conveyorservice.service.impl.CalculationServiceImpl;
+import com.giftmaseya.conveyorservice.service.impl.ConveyorMetrics;
+import com.giftmaseya.conveyorservice.service.impl.CreditResultCache;
+import com.giftmaseya.conveyorservice.service.impl.DueDateCalendar;
+import com.giftmaseya.conveyorservice.service.impl.LibraryAmortizationEngine;
+import com.giftmaseya.conveyorservice.service.impl.ScoringRules;
+import com.giftmaseya.conveyorservice.service.impl.OfferServiceImpl;
+import com.giftmaseya.conveyorservice.service.impl.OfferTemplateCache;
+import com.giftmaseya.conveyorservice.service.impl.ScoringTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.event.Level;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of each conveyor stage. {@code term} is the API value, the schedule has
+ * {@code term * BASE_PERIOD} installments, so 1/6/30 cover 12 to 360 monthly payments.
+ * Run with {@code -prof gc} (the jmh profile default) to get allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConveyorBenchmark {
+
+    @Param({"1", "6", "30"})
+    public int term;
+
+    @Param({"100000", "1000000"})
+    public String amount;
+
+    private CalculationServiceImpl calculationService;
+    private CalculationServiceImpl cachedCalculationService;
+    private OfferService offerService;
+    private OfferService uncachedOfferService;
+    private ScoringDataDTO scoring;
+    private LoanApplicationRequestDTO application;
+    private BigDecimal rate;
+    private LoanOfferGridRequestDTO offerGrid;
+    private List<LoanApplicationRequestDTO> gridApplications;
+
+    @Setup
+    public void setUp() {
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        DueDateCalendar dueDateCalendar = new DueDateCalendar(Clock.systemDefaultZone(), 360);
+        calculationService = new CalculationServiceImpl(
+                new LibraryAmortizationEngine(),
+                new ScoringTracer(Level.DEBUG),
+                conveyorMetrics,
+                scoringRules,
+                new CreditResultCache(0, 600000, scoringRules),
+                dueDateCalendar);
+        cachedCalculationService = new CalculationServiceImpl(
+                new LibraryAmortizationEngine(),
+                new ScoringTracer(Level.DEBUG),
+                conveyorMetrics,
+                scoringRules,
+                new CreditResultCache(1024, 600000, scoringRules),
+                dueDateCalendar);
+        offerService = new OfferServiceImpl(calculationService, new OfferTemplateCache(1024));
+        uncachedOfferService = new OfferServiceImpl(calculationService, new OfferTemplateCache(0));
+        scoring = BenchmarkData.scoring(new BigDecimal(amount), term);
+        application = BenchmarkData.application(new BigDecimal(amount), term);
+        rate = calculationService.calcRate(scoring);
+
+        List<OfferVariantDTO> variants = new ArrayList<>();
+        gridApplications = new ArrayList<>();
+        for(int tick = 0; tick < 12; tick++) {
+            for(int termTick = 0; termTick < 2; termTick++) {
+                BigDecimal variantAmount = new BigDecimal(amount).add(BigDecimal.valueOf(5000L * tick));
+                variants.add(new OfferVariantDTO(variantAmount, term + termTick));
+                gridApplications.add(BenchmarkData.application(variantAmount, term + termTick));
+            }
+        }
+        offerGrid = new LoanOfferGridRequestDTO(application, variants);
+    }
+
+    @Benchmark
+    public BigDecimal calcRate() {
+        return calculationService.calcRate(scoring);
+    }
+
+    @Benchmark
+    public BigDecimal calcMonthlyPayment() {
+        return calculationService.calcMonthlyPayment(scoring.getAmount(), rate, term);
+    }
+
+    @Benchmark
+    public BigDecimal calcPsk() {
+        return calculationService.calcPsk(scoring.getAmount(), rate, term);
+    }
+
+    @Benchmark
+    public List<PaymentScheduleElement> generatePaymentSchedule() {
+        return calculationService.generatePaymentSchedule(scoring);
+    }
+
+    @Benchmark
+    public CreditDTO fillCreditInfo() {
+        return calculationService.fillCreditInfo(scoring);
+    }
+
+    @Benchmark
+    public CreditDTO fillCreditInfoCached() {
+        return cachedCalculationService.fillCreditInfo(scoring);
+    }
+
+    @Benchmark
+    public List<LoanOfferDTO> loanOffers() {
+        return offerService.loanOffers(application);
+    }
+
+    @Benchmark
+    public List<LoanOfferDTO> loanOffersUncached() {
+        return uncachedOfferService.loanOffers(application);
+    }
+
+    /**
+     * 24 slider positions (12 amounts by 2 terms) priced in one grid call.
+     */
+    @Benchmark
+    public List<List<LoanOfferDTO>> loanOfferGridUncached() {
+        return uncachedOfferService.loanOfferGrid(offerGrid);
+    }
+
+    /**
+     * The same 24 slider positions priced by one offers call each.
+     */
+    @Benchmark
+    public List<List<LoanOfferDTO>> loanOffersPerVariantUncached() {
+        List<List<LoanOfferDTO>> grid = new ArrayList<>(gridApplications.size());
+        for(LoanApplicationRequestDTO variant : gridApplications) {
+            grid.add(uncachedOfferService.loanOffers(variant));
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,180 @@
+package com.giftmaseya.conveyorservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Closed-loop HTTP load test: a fixed number of connections post back to back for a fixed time.
+ * Each connection is an asynchronous request chain, so 10 000 connections need no client threads.
+ *
+ * <p>Compare stacks by running it with the same arguments against each of them:
+ *
+ * <pre>
+ * java -jar target/conveyor-service-0.0.1-SNAPSHOT.jar --server.port=8080
+ * mvn -P reactive package
+ * java -jar target/conveyor-service-0.0.1-SNAPSHOT.jar --server.port=8081 --spring.profiles.active=reactive
+ * mvn -P virtual-threads package   (JDK 21, then)
+ * java -jar target/conveyor-service-0.0.1-SNAPSHOT.jar --server.port=8082 --spring.profiles.active=virtual
+ *
+ * mvn -P jmh test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.giftmaseya.conveyorservice.benchmark.LoadTest \
+ *     -Dexec.args="http://localhost:8080 calculation 1000,2500,5000,10000 30"
+ * </pre>
+ *
+ * Arguments are base url, endpoint ({@code calculation} or {@code offers}), a comma-separated list of
+ * concurrency levels and seconds per level. The first fifth of each level is warm-up and is not reported.
+ * After each level the server's live threads and used heap are read from the actuator, when it is exposed.
+ * Raise the open-file limit ({@code ulimit -n}) on both sides before going past a few thousand connections.
+ */
+public final class LoadTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String endpoint = args.length > 1 ? args[1] : "calculation";
+        int[] concurrencies = Arrays.stream((args.length > 2 ? args[2] : "64").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        Object body = endpoint.equals("offers")
+                ? BenchmarkData.application(BigDecimal.valueOf(300000), 6)
+                : BenchmarkData.scoring(BigDecimal.valueOf(300000), 6);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/conveyor/" + endpoint))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                .build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.printf("%s/conveyor/%s, %d s per level%n", baseUrl, endpoint, seconds);
+        System.out.printf("%8s %9s %8s %8s %10s %9s %9s %9s %8s %9s%n",
+                "conns", "requests", "rejected", "failed", "req/s", "p50 ms", "p99 ms", "max ms", "threads", "heap MB");
+
+        for(int concurrency : concurrencies) {
+            Result result = run(client, request, concurrency, seconds);
+            report(concurrency, seconds * 0.8, result, serverMetric(client, baseUrl, "jvm.threads.live"),
+                    serverMetric(client, baseUrl, "jvm.memory.used?tag=area:heap"));
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds) throws InterruptedException {
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(seconds).toNanos() / 5;
+        long end = start + Duration.ofSeconds(seconds).toNanos();
+
+        Result result = new Result();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        for(int i = 0; i < concurrency; i++) {
+            send(client, request, measureFrom, end, result, finished);
+        }
+        finished.await();
+
+        return result;
+    }
+
+    /**
+     * Sends one request and, once it completes, the next one on the same chain until the level ends.
+     */
+    private static void send(HttpClient client, HttpRequest request, long measureFrom, long end,
+                             Result result, CountDownLatch finished) {
+
+        long sent = System.nanoTime();
+        if(sent >= end) {
+            finished.countDown();
+            return;
+        }
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long received = System.nanoTime();
+            if(sent >= measureFrom) {
+                result.record(error == null ? response.statusCode() : -1, received - sent);
+            }
+            send(client, request, measureFrom, end, result, finished);
+        });
+    }
+
+    private static double serverMetric(HttpClient client, String baseUrl, String metric) {
+        try {
+            HttpResponse<byte[]> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if(response.statusCode() != 200) {
+                return Double.NaN;
+            }
+            JsonNode measurements = MAPPER.readTree(response.body()).path("measurements");
+            return measurements.size() > 0 ? measurements.get(0).path("value").asDouble() : Double.NaN;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    private static void report(int concurrency, double seconds, Result result, double threads, double heapBytes) {
+
+        long[] latencies;
+        int count;
+        int ok;
+        int rejected;
+        synchronized(result) {
+            latencies = Arrays.copyOf(result.latencies, result.count);
+            count = result.count;
+            ok = result.ok;
+            rejected = result.rejected;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%8d %9d %8d %8d %10.1f %9.2f %9.2f %9.2f %8.0f %9.1f%n",
+                concurrency, count, rejected, count - ok - rejected, count / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0),
+                threads, heapBytes / (1024 * 1024));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if(sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int ok;
+        private int rejected;
+
+        synchronized void record(int status, long nanos) {
+            if(count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if(status == 200) {
+                ok++;
+            } else if(status == 429 || status == 503) {
+                rejected++;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.giftmaseya.conveyorservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.exception.ConveyorExceptionHandler;
+import com.giftmaseya.conveyorservice.service.impl.CalculationServiceImpl;
+import com.giftmaseya.conveyorservice.service.impl.ConveyorMetrics;
+import com.giftmaseya.conveyorservice.service.impl.CreditResultCache;
+import com.giftmaseya.conveyorservice.service.impl.DueDateCalendar;
+import com.giftmaseya.conveyorservice.service.impl.LibraryAmortizationEngine;
+import com.giftmaseya.conveyorservice.service.impl.ScoringRules;
+import com.giftmaseya.conveyorservice.service.impl.ScoringTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.event.Level;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a refused calculation from scoring to response bytes. Both benchmarks score the
+ * same refused application through calcRate from a request-sized call stack; only the exception differs.
+ * {@code stackTraceRefusal} is the path before the error model: the refusal surfaces as a new
+ * exception with its stack trace, and Spring's default error attributes are the body.
+ * {@code compactRefusal} lets the preallocated refusal through and writes the compact error body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RefusalBenchmark {
+
+    /**
+     * Frames between the servlet container and the service in a Spring MVC request.
+     */
+    @Param({"100"})
+    public int stackDepth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CalculationServiceImpl calculationService;
+    private ScoringDataDTO scoring;
+
+    @Setup
+    public void setUp() {
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        DueDateCalendar dueDateCalendar = new DueDateCalendar(Clock.systemDefaultZone(), 360);
+        calculationService = new CalculationServiceImpl(
+                new LibraryAmortizationEngine(),
+                new ScoringTracer(Level.DEBUG),
+                conveyorMetrics,
+                scoringRules,
+                new CreditResultCache(0, 600000, scoringRules),
+                dueDateCalendar);
+        scoring = BenchmarkData.scoring(BigDecimal.valueOf(300000), 2);
+        scoring.getEmployment().setWorkExperienceCurrent(1);
+    }
+
+    @Benchmark
+    public byte[] stackTraceRefusal() throws Exception {
+        try {
+            atDepth(stackDepth, true);
+            return null;
+        } catch (ConveyorException e) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("timestamp", new Date());
+            body.put("status", 500);
+            body.put("error", "Internal Server Error");
+            body.put("path", "/conveyor/calculation");
+            return objectMapper.writeValueAsBytes(body);
+        }
+    }
+
+    @Benchmark
+    public byte[] compactRefusal() throws Exception {
+        try {
+            atDepth(stackDepth, false);
+            return null;
+        } catch (ConveyorException e) {
+            return objectMapper.writeValueAsBytes(ConveyorExceptionHandler.toError(e));
+        }
+    }
+
+    private BigDecimal atDepth(int depth, boolean withStackTrace) {
+        if(depth > 0) {
+            return atDepth(depth - 1, withStackTrace);
+        }
+        try {
+            return calculationService.calcRate(scoring);
+        } catch (ConveyorException e) {
+            if(withStackTrace) {
+                throw new ConveyorException(e.getMessage());
+            }
+            throw e;
+        }
+    }
+}
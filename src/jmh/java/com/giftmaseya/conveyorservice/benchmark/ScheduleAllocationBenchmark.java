@@ -0,0 +1,134 @@
+package com.giftmaseya.conveyorservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.giftmaseya.conveyorservice.dto.CreditDTO;
+import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.service.impl.CalculationServiceImpl;
+import com.giftmaseya.conveyorservice.service.impl.ConveyorMetrics;
+import com.giftmaseya.conveyorservice.service.impl.CreditResultCache;
+import com.giftmaseya.conveyorservice.service.impl.DueDateCalendar;
+import com.giftmaseya.conveyorservice.service.impl.LibraryAmortizationEngine;
+import com.giftmaseya.conveyorservice.service.impl.ScoringRules;
+import com.giftmaseya.conveyorservice.service.impl.ScoringTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.event.Level;
+import org.springframework.core.io.ClassPathResource;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per full-schedule request: the uncached calculation, and the calculation plus its JSON body.
+ * {@code elements} builds the schedule the way it was built before, as an {@code ArrayList} of
+ * {@link PaymentScheduleElement} filled row by row, so {@code -prof gc} shows gc.alloc.rate.norm for both side by side.
+ *
+ * <p>{@link #main} prints bytes per request from the thread allocation counter without JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScheduleAllocationBenchmark {
+
+    @Param({"12", "120", "360"})
+    public int rows;
+
+    private CalculationServiceImpl calculationService;
+    private ObjectMapper jsonMapper;
+    private ScoringDataDTO scoring;
+
+    @Setup
+    public void setUp() {
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        DueDateCalendar dueDateCalendar = new DueDateCalendar(Clock.systemDefaultZone(), 360);
+        calculationService = new CalculationServiceImpl(
+                new LibraryAmortizationEngine(),
+                new ScoringTracer(Level.DEBUG),
+                conveyorMetrics,
+                scoringRules,
+                new CreditResultCache(0, 600000, scoringRules),
+                dueDateCalendar);
+        jsonMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        scoring = BenchmarkData.scoring(BigDecimal.valueOf(1000000), rows / 12);
+    }
+
+    @Benchmark
+    public CreditDTO columnar() {
+        return calculationService.fillCreditInfo(scoring);
+    }
+
+    @Benchmark
+    public CreditDTO elements() {
+        CreditDTO credit = calculationService.fillCreditSummary(scoring);
+        List<PaymentScheduleElement> schedule = new ArrayList<>();
+        calculationService.generatePaymentSchedule(scoring, credit.getRate(), schedule::add);
+        credit.setPaymentSchedule(schedule);
+        return credit;
+    }
+
+    @Benchmark
+    public byte[] columnarJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(columnar());
+    }
+
+    @Benchmark
+    public byte[] elementsJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(elements());
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        for(int rows : new int[] {12, 120, 360}) {
+            ScheduleAllocationBenchmark benchmark = new ScheduleAllocationBenchmark();
+            benchmark.rows = rows;
+            benchmark.setUp();
+
+            List<String> results = new ArrayList<>();
+            for(String name : new String[] {"columnar", "elements", "columnarJson", "elementsJson"}) {
+                for(int i = 0; i < iterations; i++) {
+                    benchmark.run(name);
+                }
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for(int i = 0; i < iterations; i++) {
+                    benchmark.run(name);
+                }
+                results.add(String.format("%s=%d", name, (threads.getCurrentThreadAllocatedBytes() - before) / iterations));
+            }
+            System.out.printf("%d rows, bytes per request: %s%n", rows, String.join(", ", results));
+        }
+    }
+
+    private Object run(String name) throws Exception {
+        switch (name) {
+            case "columnar":
+                return columnar();
+            case "elements":
+                return elements();
+            case "columnarJson":
+                return columnarJson();
+            default:
+                return elementsJson();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.giftmaseya.conveyorservice.benchmark;
+
+import com.giftmaseya.conveyorservice.dto.PaymentSchedule;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.service.impl.CalculationServiceImpl;
+import com.giftmaseya.conveyorservice.service.impl.ConveyorMetrics;
+import com.giftmaseya.conveyorservice.service.impl.CreditResultCache;
+import com.giftmaseya.conveyorservice.service.impl.DueDateCalendar;
+import com.giftmaseya.conveyorservice.service.impl.LibraryAmortizationEngine;
+import com.giftmaseya.conveyorservice.service.impl.ScoringRules;
+import com.giftmaseya.conveyorservice.service.impl.ScoringTracer;
+import com.giftmaseya.conveyorservice.utils.AppConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.event.Level;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to generate a payment schedule. {@code fixedScale} is the service under its decimal policy;
+ * {@code unboundedScale} runs the same rows in {@code BigDecimal} without rounding the interest,
+ * so the scale of every value grows row by row.
+ *
+ * <p>{@link #main} prints microseconds per 360-row schedule without JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScheduleGenerationBenchmark {
+
+    private static final BigDecimal RATE = new BigDecimal("9.75");
+
+    @Param({"12", "120", "360"})
+    public int rows;
+
+    private CalculationServiceImpl calculationService;
+    private ScoringDataDTO scoring;
+    private BigDecimal totalPayment;
+
+    @Setup
+    public void setUp() {
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        DueDateCalendar dueDateCalendar = new DueDateCalendar(Clock.systemDefaultZone(), 360);
+        calculationService = new CalculationServiceImpl(
+                new LibraryAmortizationEngine(),
+                new ScoringTracer(Level.DEBUG),
+                conveyorMetrics,
+                scoringRules,
+                new CreditResultCache(0, 600000, scoringRules),
+                dueDateCalendar);
+        scoring = BenchmarkData.scoring(BigDecimal.valueOf(1000000), rows / AppConstants.BASE_PERIOD);
+        totalPayment = calculationService.generatePaymentSchedule(scoring, RATE, 1, 1).get(0).getTotalPayment();
+    }
+
+    @Benchmark
+    public PaymentSchedule fixedScale() {
+        return calculationService.generatePaymentSchedule(scoring, RATE, 1, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public BigDecimal unboundedScale() {
+        BigDecimal monthlyRate = RATE.divide(BigDecimal.valueOf(1200), 12, RoundingMode.HALF_EVEN);
+        BigDecimal remainingDebt = scoring.getAmount();
+        BigDecimal interestSum = BigDecimal.ZERO;
+        for(int i = 0; i < rows; i++) {
+            BigDecimal interestPayment = remainingDebt.multiply(monthlyRate);
+            remainingDebt = remainingDebt.subtract(totalPayment.subtract(interestPayment));
+            interestSum = interestSum.add(interestPayment);
+        }
+        return interestSum;
+    }
+
+    public static void main(String[] args) {
+
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        ScheduleGenerationBenchmark benchmark = new ScheduleGenerationBenchmark();
+        benchmark.rows = 360;
+        benchmark.setUp();
+
+        for(int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for(int i = 0; i < iterations; i++) {
+                benchmark.fixedScale();
+            }
+            long fixed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for(int i = 0; i < iterations; i++) {
+                benchmark.unboundedScale();
+            }
+            long unbounded = System.nanoTime() - start;
+
+            System.out.printf("360 rows, us per schedule: fixedScale=%.1f, unboundedScale=%.1f%n",
+                    fixed / 1000.0 / iterations, unbounded / 1000.0 / iterations);
+        }
+    }
+}
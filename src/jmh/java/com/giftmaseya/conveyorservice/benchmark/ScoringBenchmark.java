@@ -0,0 +1,146 @@
+package com.giftmaseya.conveyorservice.benchmark;
+
+import com.giftmaseya.conveyorservice.dto.EmploymentDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.service.impl.CalculationServiceImpl;
+import com.giftmaseya.conveyorservice.service.impl.ConveyorMetrics;
+import com.giftmaseya.conveyorservice.service.impl.CreditResultCache;
+import com.giftmaseya.conveyorservice.service.impl.DueDateCalendar;
+import com.giftmaseya.conveyorservice.service.impl.LibraryAmortizationEngine;
+import com.giftmaseya.conveyorservice.service.impl.ScoringRules;
+import com.giftmaseya.conveyorservice.service.impl.ScoringTracer;
+import com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum;
+import com.giftmaseya.conveyorservice.utils.GenderEnum;
+import com.giftmaseya.conveyorservice.utils.MaritalStatusEnum;
+import com.giftmaseya.conveyorservice.utils.PositionEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.event.Level;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the basis-point rate table with the BigDecimal if-chain it replaced,
+ * and measures a refusal thrown from calcRate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoringBenchmark {
+
+    private CalculationServiceImpl calculationService;
+    private BigDecimal initialRate;
+    private ScoringDataDTO scoring;
+    private ScoringDataDTO rejectedScoring;
+
+    @Setup
+    public void setUp() {
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        DueDateCalendar dueDateCalendar = new DueDateCalendar(Clock.systemDefaultZone(), 360);
+        calculationService = new CalculationServiceImpl(
+                new LibraryAmortizationEngine(),
+                new ScoringTracer(Level.DEBUG),
+                conveyorMetrics,
+                scoringRules,
+                new CreditResultCache(0, 600000, scoringRules),
+                dueDateCalendar);
+        initialRate = scoringRules.initialRate();
+        scoring = BenchmarkData.scoring(BigDecimal.valueOf(300000), 2);
+        rejectedScoring = BenchmarkData.scoring(BigDecimal.valueOf(300000), 2);
+        rejectedScoring.getEmployment().setWorkExperienceCurrent(1);
+    }
+
+    @Benchmark
+    public BigDecimal rateTable() {
+        return calculationService.calcRate(scoring);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalChain() {
+        return legacyCalcRate(scoring);
+    }
+
+    @Benchmark
+    public ConveyorException rejectionThrown() {
+        try {
+            calculationService.calcRate(rejectedScoring);
+            return null;
+        } catch (ConveyorException e) {
+            return e;
+        }
+    }
+
+    /**
+     * calcRate(ScoringDataDTO) as it was before the rate table, without its log calls,
+     * starting from the initial rate of the same rules file.
+     */
+    private BigDecimal legacyCalcRate(ScoringDataDTO scoring) {
+
+        BigDecimal rate = new BigDecimal(String.valueOf(initialRate));
+        EmploymentDTO employmentInfo = scoring.getEmployment();
+
+        if(employmentInfo.getEmploymentStatus() == EmploymentStatusEnum.SELF_EMPLOYED) {
+            rate = rate.add(new BigDecimal("1"));
+        } else if (employmentInfo.getEmploymentStatus() == EmploymentStatusEnum.UNEMPLOYED) {
+            throw new ConveyorException("Unemployed individual does not qualify for a loan");
+        } else if (employmentInfo.getEmploymentStatus() == EmploymentStatusEnum.BUSINESS_OWNER) {
+            rate = rate.add(new BigDecimal("3"));
+        }
+
+        if(employmentInfo.getPosition() == PositionEnum.TOP_MANAGER) {
+            rate = rate.subtract(new BigDecimal("4"));
+        }
+
+        if(employmentInfo.getPosition() == PositionEnum.MIDDLE_MANAGER) {
+            rate = rate.subtract(new BigDecimal("2"));
+        }
+
+        if(employmentInfo.getSalary().multiply(BigDecimal.valueOf(20)).compareTo(scoring.getAmount()) < 0) {
+            throw new ConveyorException("requested loan amount cannot be 20 times your salary");
+        }
+
+        if(scoring.getMaritalStatus() == MaritalStatusEnum.MARRIED) {
+            rate = rate.subtract(new BigDecimal("3"));
+        } else if(scoring.getMaritalStatus() == MaritalStatusEnum.DIVORCED) {
+            rate = rate.add(new BigDecimal("1"));
+        }
+
+        if(scoring.getDependentAmount() > 1) {
+            rate = rate.add(BigDecimal.ONE);
+        }
+
+        long age = Period.between(scoring.getBirthDate(), LocalDate.now()).getYears();
+        if(age < 20) {
+            throw new ConveyorException("rejection: persons under 20 do not qualify for a loan");
+        } else if (age > 60) {
+            throw new ConveyorException("rejection: persons over 60 do not qualify for a loan");
+        }
+
+        if((scoring.getGender() == GenderEnum.FEMALE) && (age >= 35)) {
+            rate = rate.subtract(BigDecimal.valueOf(3));
+        } else if((scoring.getGender() == GenderEnum.MALE) && (age >= 30 && age <= 55)) {
+            rate = rate.subtract(BigDecimal.valueOf(3));
+        }
+
+        if(employmentInfo.getWorkExperienceTotal() < 12) {
+            throw new ConveyorException("refusal: total work experience not enough, less than 12 months");
+        } else if(employmentInfo.getWorkExperienceCurrent() < 3) {
+            throw new ConveyorException("refusal: current work experience not enough, less than 3 months");
+        }
+
+        return rate;
+    }
+}
@@ -0,0 +1,107 @@
+package com.giftmaseya.conveyorservice.benchmark;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time-to-first-request and resident memory of one way of launching the service.
+ * Each run starts the command, posts a calculation until one succeeds, reads the process RSS
+ * from {@code /proc} (Linux only) and stops the process.
+ *
+ * <pre>
+ * java -cp ... com.giftmaseya.conveyorservice.benchmark.StartupTest http://localhost:8080 5 \
+ *     java -Dspring.profiles.active=fast-startup -XX:SharedArchiveFile=target/app-cds.jsa \
+ *     -cp "target/conveyor-service-0.0.1-SNAPSHOT.jar:target/lib/*" com.giftmaseya.conveyorservice.ConveyorServiceApplication
+ * </pre>
+ *
+ * Arguments are the base url, the number of runs and the command.
+ */
+public final class StartupTest {
+
+    private StartupTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        String baseUrl = args[0];
+        int runs = Integer.parseInt(args[1]);
+        List<String> command = Arrays.asList(args).subList(2, args.length);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/conveyor/calculation"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(5))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(JsonMapper.builder()
+                        .findAndAddModules()
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build()
+                        .writeValueAsBytes(BenchmarkData.scoring(BigDecimal.valueOf(300000), 6))))
+                .build();
+        HttpClient client = HttpClient.newHttpClient();
+
+        long[] millis = new long[runs];
+        long[] rssKb = new long[runs];
+
+        for(int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("startup-test.log")))
+                    .start();
+            try {
+                awaitFirstResponse(client, request, process);
+                millis[run] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                rssKb[run] = rssKb(process.pid());
+                System.out.printf("run %d: first response after %d ms, rss %d MB%n", run + 1, millis[run], rssKb[run] / 1024);
+            } finally {
+                process.destroy();
+                if(!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+
+        Arrays.sort(millis);
+        Arrays.sort(rssKb);
+        System.out.printf("median of %d runs: first response after %d ms, rss %d MB%n",
+                runs, millis[runs / 2], rssKb[runs / 2] / 1024);
+    }
+
+    private static void awaitFirstResponse(HttpClient client, HttpRequest request, Process process) throws Exception {
+        while(true) {
+            if(!process.isAlive()) {
+                throw new IllegalStateException("service exited with " + process.exitValue() + ", see startup-test.log");
+            }
+            try {
+                if(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static long rssKb(long pid) throws Exception {
+        for(String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if(line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,220 @@
+package com.giftmaseya.conveyorservice;
+
+import com.giftmaseya.conveyorservice.service.AmortizationEngine;
+import com.giftmaseya.conveyorservice.service.CalculationService;
+import com.giftmaseya.conveyorservice.service.impl.AnnuityAmortizationEngine;
+import com.giftmaseya.conveyorservice.service.impl.CalculationServiceImpl;
+import com.giftmaseya.conveyorservice.service.impl.ConveyorMetrics;
+import com.giftmaseya.conveyorservice.service.impl.CreditResultCache;
+import com.giftmaseya.conveyorservice.service.impl.DueDateCalendar;
+import com.giftmaseya.conveyorservice.service.impl.LibraryAmortizationEngine;
+import com.giftmaseya.conveyorservice.service.impl.PortfolioSimulator;
+import com.giftmaseya.conveyorservice.service.impl.ScoringRules;
+import com.giftmaseya.conveyorservice.service.impl.ScoringTracer;
+import com.giftmaseya.conveyorservice.service.impl.SimulationResult;
+import com.giftmaseya.conveyorservice.utils.InputFormatEnum;
+import com.giftmaseya.conveyorservice.utils.RefusalReasonEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.event.Level;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Offline what-if simulation over historical applications, without starting the service.
+ * Every application is scored under the baseline rules and, when overrides are given, under a variant.
+ *
+ * <pre>
+ * java -cp target/conveyor-service-0.0.1-SNAPSHOT.jar \
+ *     -Dloader.main=com.giftmaseya.conveyorservice.ConveyorSimulationApplication \
+ *     org.springframework.boot.loader.PropertiesLauncher \
+ *     --input=applications.ndjson --set=position.TOP_MANAGER=-3.5
+ * </pre>
+ *
+ * Options are listed by {@code --help}. Amounts are priced through {@link CalculationServiceImpl#amortize}
+ * with the engine the service would use, chosen like {@code conveyor.amortization.engine}.
+ */
+public final class ConveyorSimulationApplication {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "options:",
+            "  --input=FILE          applications, .csv or NDJSON (required)",
+            "  --format=csv|ndjson   input format, from the file extension by default",
+            "  --baseline=FILE       baseline rules, the bundled scoring-rules.properties by default",
+            "  --rules=FILE          variant rules merged over the baseline",
+            "  --set=KEY=VALUE       variant rule, repeatable",
+            "  --engine=library|annuity  amortization engine, library by default as in the service",
+            "  --as-of=DATE          date ages and due dates are taken from, today by default",
+            "  --parallelism=N       fork/join parallelism, the number of processors by default",
+            "",
+            "Rules files and --set only change rate adjustments (initial-rate, offer.*, employment-status.*, ...).",
+            "The rejection thresholds (unemployment, work experience under 12/3 months, age under 20 or over 60,",
+            "amount over 20 salaries) are fixed in the service, so a variant never changes which applications",
+            "are rejected.");
+
+    private ConveyorSimulationApplication() {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        Path input = null;
+        InputFormatEnum format = null;
+        Properties baseline = null;
+        Properties overrides = new Properties();
+        LocalDate today = LocalDate.now();
+        String engine = "library";
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        for(String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if(arg.equals("--help")) {
+                System.out.println(USAGE);
+                return;
+            } else if(arg.startsWith("--input=")) {
+                input = Path.of(value);
+            } else if(arg.startsWith("--format=")) {
+                format = InputFormatEnum.valueOf(value.toUpperCase());
+            } else if(arg.startsWith("--baseline=")) {
+                baseline = load(Files.newInputStream(Path.of(value)));
+            } else if(arg.startsWith("--rules=")) {
+                overrides.putAll(load(Files.newInputStream(Path.of(value))));
+            } else if(arg.startsWith("--set=") && value.contains("=")) {
+                overrides.setProperty(value.substring(0, value.indexOf('=')), value.substring(value.indexOf('=') + 1));
+            } else if(arg.startsWith("--engine=")) {
+                engine = value;
+            } else if(arg.startsWith("--as-of=")) {
+                today = LocalDate.parse(value);
+            } else if(arg.startsWith("--parallelism=")) {
+                parallelism = Integer.parseInt(value);
+            } else {
+                throw new IllegalArgumentException("unknown option " + arg + System.lineSeparator() + USAGE);
+            }
+        }
+
+        if(input == null) {
+            throw new IllegalArgumentException("--input is required" + System.lineSeparator() + USAGE);
+        }
+        if(format == null) {
+            boolean csv = input.getFileName().toString().toLowerCase().endsWith(".csv");
+            format = csv ? InputFormatEnum.CSV : InputFormatEnum.NDJSON;
+        }
+        if(baseline == null) {
+            baseline = load(new ClassPathResource("scoring-rules.properties").getInputStream());
+        }
+
+        List<Properties> scenarios = new ArrayList<>();
+        scenarios.add(baseline);
+        if(!overrides.isEmpty()) {
+            Properties variant = new Properties();
+            variant.putAll(baseline);
+            variant.putAll(overrides);
+            scenarios.add(variant);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            PortfolioSimulator simulator = PortfolioSimulator.create(scenarios, calculationService(engine), today, pool);
+            List<SimulationResult> results = simulator.run(reader, format);
+            print(System.out, results, simulator.getMalformed(), System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The service's calculation path outside of Spring, as the benchmarks build it; only its amortization is used.
+     */
+    private static CalculationService calculationService(String engine) {
+        AmortizationEngine amortizationEngine;
+        if(engine.equals("library")) {
+            amortizationEngine = new LibraryAmortizationEngine();
+        } else if(engine.equals("annuity")) {
+            amortizationEngine = new AnnuityAmortizationEngine();
+        } else {
+            throw new IllegalArgumentException("unknown amortization engine " + engine);
+        }
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        DueDateCalendar dueDateCalendar = new DueDateCalendar(Clock.systemDefaultZone(), 0);
+        return new CalculationServiceImpl(
+                amortizationEngine,
+                new ScoringTracer(Level.DEBUG),
+                conveyorMetrics,
+                scoringRules,
+                new CreditResultCache(0, 0, scoringRules),
+                dueDateCalendar);
+    }
+
+    private static Properties load(InputStream in) throws IOException {
+        try (InputStream rules = in) {
+            Properties properties = new Properties();
+            properties.load(rules);
+            return properties;
+        }
+    }
+
+    private static void print(PrintStream out, List<SimulationResult> results, long malformed, long nanos) {
+
+        String[] names = results.size() == 1 ? new String[] {"baseline"} : new String[] {"baseline", "variant"};
+        SimulationResult baseline = results.get(0);
+
+        out.printf("applications %d, malformed lines %d, %d ms%n%n", baseline.getApplications(), malformed, nanos / 1_000_000);
+        out.printf("%-24s", "");
+        for(String name : names) {
+            out.printf("%20s", name);
+        }
+        out.println();
+
+        row(out, "scored", results, r -> BigDecimal.valueOf(r.getScored()));
+        row(out, "rejected", results, r -> BigDecimal.valueOf(r.getRejected()));
+        row(out, "rejected share, %", results, r -> share(r.getRejected(), r.getApplications()));
+        row(out, "average rate", results, SimulationResult::getAverageRate);
+        row(out, "total psk", results, SimulationResult::getTotalPsk);
+
+        out.printf("%nrejections by reason%n");
+        for(RefusalReasonEnum reason : RefusalReasonEnum.values()) {
+            row(out, "  " + reason, results, r -> BigDecimal.valueOf(r.getRejectionsByReason().get(reason)));
+        }
+
+        out.printf("%nrate distribution, %% of scored%n");
+        TreeSet<BigDecimal> rates = new TreeSet<>();
+        for(SimulationResult result : results) {
+            rates.addAll(result.getRateDistribution().keySet());
+        }
+        for(BigDecimal rate : rates) {
+            row(out, "  " + rate, results, r -> share(r.getRateDistribution().getOrDefault(rate, 0L), r.getScored()));
+        }
+    }
+
+    private static void row(PrintStream out, String label, List<SimulationResult> results,
+                            Function<SimulationResult, BigDecimal> value) {
+        out.printf("%-24s", label);
+        for(SimulationResult result : results) {
+            out.printf("%20s", value.apply(result).toPlainString());
+        }
+        out.println();
+    }
+
+    private static BigDecimal share(long part, long whole) {
+        return whole == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(part * 100)
+                .divide(BigDecimal.valueOf(whole), 2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,23 @@
+package com.giftmaseya.conveyorservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class BatchCalculationConfig {
+
+    /**
+     * Dedicated pool for batch scoring so that nightly re-pricing does not
+     * compete with the common pool. Defaults to one worker per core.
+     */
+    @Bean(name = "batchCalculationPool", destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "conveyor.threads.virtual", havingValue = "false", matchIfMissing = true)
+    public ForkJoinPool batchCalculationPool(@Value("${conveyor.calculation.batch.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+}
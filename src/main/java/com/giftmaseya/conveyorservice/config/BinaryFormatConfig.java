@@ -0,0 +1,62 @@
+package com.giftmaseya.conveyorservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.giftmaseya.conveyorservice.service.impl.ConveyorMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * CBOR with amounts as longs of 1/10 000 units and dates as epoch days, in requests and responses alike.
+     */
+    public static final MediaType SCALED_CBOR = new MediaType("application", "vnd.conveyor+cbor");
+
+    /**
+     * CBOR for service-to-service callers, chosen by {@code Accept: application/cbor} or a CBOR request body.
+     * Amounts and dates are encoded as in JSON, as decimals and ISO dates; serialization is timed like JSON.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                            ConveyorMetrics conveyorMetrics) {
+        return timed(builder.factory(new CBORFactory()).build(), conveyorMetrics);
+    }
+
+    /**
+     * CBOR with {@link ScaledAmountsModule}, chosen by {@link #SCALED_CBOR} in {@code Accept} or {@code Content-Type}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter scaledCborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                                  ConveyorMetrics conveyorMetrics) {
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        cborMapper.registerModule(new ScaledAmountsModule());
+        MappingJackson2CborHttpMessageConverter converter = timed(cborMapper, conveyorMetrics);
+        converter.setSupportedMediaTypes(Collections.singletonList(SCALED_CBOR));
+        return converter;
+    }
+
+    private static MappingJackson2CborHttpMessageConverter timed(ObjectMapper cborMapper, ConveyorMetrics conveyorMetrics) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    conveyorMetrics.recordSerialization(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+}
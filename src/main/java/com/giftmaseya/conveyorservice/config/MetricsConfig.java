@@ -0,0 +1,35 @@
+package com.giftmaseya.conveyorservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.giftmaseya.conveyorservice.service.impl.ConveyorMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces Boot's default JSON converter with one that times response serialization.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ConveyorMetrics conveyorMetrics) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    conveyorMetrics.recordSerialization(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.giftmaseya.conveyorservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class OfferExecutorConfig {
+
+    /**
+     * Bounded pool for the parallel offers mode. When the queue is full the request is
+     * turned away with a 503, as admission control does, instead of the servlet thread
+     * computing the offers itself past the offer timeout.
+     */
+    @Bean(name = "offerExecutor", destroyMethod = "shutdown")
+    @ConditionalOnExpression("${conveyor.offers.parallel.enabled:false} and !${conveyor.threads.virtual:false}")
+    public ExecutorService offerExecutor(@Value("${conveyor.offers.parallel.pool-size:4}") int poolSize,
+                                         @Value("${conveyor.offers.parallel.queue-capacity:256}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("offer-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.giftmaseya.conveyorservice.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Binary wire format for amounts and dates. Every {@code BigDecimal}, rates included, is a long counting
+ * 1/10 000 units (15000.5 is 150005000, a 9.75 rate is 97500) and every {@code LocalDate} is its epoch day,
+ * both ways. Registered only on the {@code application/vnd.conveyor+cbor} mapper; JSON and plain CBOR
+ * keep decimals and ISO dates.
+ */
+public class ScaledAmountsModule extends SimpleModule {
+
+    public static final int AMOUNT_SCALE = 4;
+
+    public ScaledAmountsModule() {
+        super("ScaledAmountsModule");
+        addSerializer(BigDecimal.class, new JsonSerializer<BigDecimal>() {
+            @Override
+            public void serialize(BigDecimal value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeNumber(value.setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+            }
+        });
+        addDeserializer(BigDecimal.class, new JsonDeserializer<BigDecimal>() {
+            @Override
+            public BigDecimal deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                if(parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                    return (BigDecimal) context.handleUnexpectedToken(BigDecimal.class, parser);
+                }
+                return BigDecimal.valueOf(parser.getLongValue(), AMOUNT_SCALE);
+            }
+        });
+        addSerializer(LocalDate.class, new JsonSerializer<LocalDate>() {
+            @Override
+            public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeNumber(value.toEpochDay());
+            }
+        });
+        addDeserializer(LocalDate.class, new JsonDeserializer<LocalDate>() {
+            @Override
+            public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return LocalDate.ofEpochDay(parser.getLongValue());
+            }
+        });
+    }
+}
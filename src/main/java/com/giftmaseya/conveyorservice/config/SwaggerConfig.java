@@ -1,5 +1,6 @@
 package com.giftmaseya.conveyorservice.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import springfox.documentation.builders.PathSelectors;
@@ -11,7 +12,12 @@ import springfox.documentation.spring.web.plugins.Docket;
 
 import java.util.Collections;
 
+/**
+ * Springfox scans every controller at startup. The fast-startup profile turns it off
+ * and serves {@code static/api-docs.json}, generated from this configuration at build time, instead.
+ */
 @Configuration
+@ConditionalOnProperty(name = "springfox.documentation.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     private ApiInfo apiInfo() {
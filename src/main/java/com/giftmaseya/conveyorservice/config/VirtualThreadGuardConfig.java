@@ -0,0 +1,23 @@
+package com.giftmaseya.conveyorservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fails the startup when {@code conveyor.threads.virtual} is set on a build without
+ * {@code VirtualThreadConfig}. The platform-thread pools step aside under that property,
+ * so without this check the context would stop later on a missing {@code batchCalculationPool}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "conveyor.threads.virtual", havingValue = "true")
+@ConditionalOnMissingClass("com.giftmaseya.conveyorservice.config.VirtualThreadConfig")
+public class VirtualThreadGuardConfig {
+
+    public VirtualThreadGuardConfig() {
+        throw new IllegalStateException("conveyor.threads.virtual=true needs a build with the virtual-threads "
+                + "Maven profile on JDK 21 (mvn -Pvirtual-threads package); this build has no virtual-thread "
+                + "executors. Unset conveyor.threads.virtual or rebuild with the profile.");
+    }
+
+}
@@ -1,31 +1,56 @@
 package com.giftmaseya.conveyorservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.giftmaseya.conveyorservice.dto.CreditDTO;
+import com.giftmaseya.conveyorservice.dto.CreditResultDTO;
 import com.giftmaseya.conveyorservice.dto.LoanApplicationRequestDTO;
 import com.giftmaseya.conveyorservice.dto.LoanOfferDTO;
+import com.giftmaseya.conveyorservice.dto.LoanOfferGridRequestDTO;
+import com.giftmaseya.conveyorservice.dto.PaymentSchedule;
+import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
 import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.service.BatchCalculationService;
 import com.giftmaseya.conveyorservice.service.CalculationService;
 import com.giftmaseya.conveyorservice.service.OfferService;
+import com.giftmaseya.conveyorservice.service.impl.AdmissionLimiter;
+import com.giftmaseya.conveyorservice.utils.ScheduleModeEnum;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Api(value = "REST APIs for the conveyor-resources")
+@Validated
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/conveyor")
 @RequiredArgsConstructor
 public class ConveyorController {
 
     private final OfferService offerService;
     private final CalculationService calculationService;
+    private final BatchCalculationService batchCalculationService;
+    private final ObjectMapper objectMapper;
+    private final AdmissionLimiter admissionLimiter;
 
     @ApiOperation(value = "Generate loan offers")
     @PostMapping("/offers")
@@ -34,12 +59,106 @@ public class ConveyorController {
         return ResponseEntity.ok(loanOfferDTOS);
     }
 
+    @ApiOperation(value = "Generate loan offers for a grid of amount and term variants in one pass")
+    @PostMapping("/offers/grid")
+    public ResponseEntity<List<List<LoanOfferDTO>>> loanOfferGrid(@Valid @RequestBody LoanOfferGridRequestDTO gridRequest) {
+        List<List<LoanOfferDTO>> grid = offerService.loanOfferGrid(gridRequest);
+        return ResponseEntity.ok(grid);
+    }
+
     @ApiOperation(value = "Perform relevant credit calculations")
     @PostMapping("/calculation")
-    public ResponseEntity<CreditDTO> calculations(@RequestBody ScoringDataDTO scoringDataDTO) {
-        CreditDTO creditDTO = calculationService.fillCreditInfo(scoringDataDTO);
-        return ResponseEntity.ok(creditDTO);
+    public ResponseEntity<CreditDTO> calculations(@RequestBody ScoringDataDTO scoringDataDTO,
+                                                  @RequestParam(defaultValue = "FULL") ScheduleModeEnum schedule,
+                                                  @RequestParam(defaultValue = "0") @Min(0) int offset,
+                                                  @RequestParam(defaultValue = "12") @Min(0) int limit,
+                                                  @RequestParam(defaultValue = "false") boolean trace) {
+        int cost = schedule == ScheduleModeEnum.NONE ? admissionLimiter.cost(0) : admissionLimiter.cost(scoringDataDTO);
+        try (AdmissionLimiter.Permit permit = admissionLimiter.acquire(cost)) {
+            CreditDTO creditDTO = calculationService.fillCreditInfo(scoringDataDTO, schedule, offset, limit);
+            if(trace) {
+                creditDTO.setScoringTrace(calculationService.traceRate(scoringDataDTO));
+            }
+            return ResponseEntity.ok(creditDTO);
+        }
+    }
+
+    @ApiOperation(value = "Recompute installments from..to of the payment schedule")
+    @PostMapping("/calculation/schedule")
+    public ResponseEntity<List<PaymentScheduleElement>> paymentSchedule(@RequestBody ScoringDataDTO scoringDataDTO,
+                                                                        @RequestParam int from,
+                                                                        @RequestParam int to) {
+        try (AdmissionLimiter.Permit permit = admissionLimiter.acquire(admissionLimiter.cost(scoringDataDTO, to))) {
+            List<PaymentScheduleElement> schedule = calculationService.generatePaymentSchedule(scoringDataDTO, from, to);
+            return ResponseEntity.ok(schedule);
+        }
     }
 
+    @ApiOperation(value = "Perform credit calculations and stream the payment schedule as NDJSON")
+    @PostMapping(value = "/calculation/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCalculations(@RequestBody ScoringDataDTO scoringDataDTO) {
+        CreditDTO creditDTO;
+        // the permit covers the calculation only; the rows are cheap fixed-scale arithmetic written as the client
+        // reads, so a slow reader neither holds capacity nor counts as slow calculation in the limit
+        try (AdmissionLimiter.Permit permit = admissionLimiter.acquire(admissionLimiter.cost(scoringDataDTO))) {
+            creditDTO = calculationService.fillCreditSummary(scoringDataDTO);
+        }
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> writeSchedule(outputStream, writer, scoringDataDTO, creditDTO);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @ApiOperation(value = "Perform credit calculations for a batch of applications")
+    @PostMapping("/calculation/batch")
+    public ResponseEntity<List<CreditResultDTO>> batchCalculations(@RequestBody List<ScoringDataDTO> scoringData) {
+        // an oversized batch is refused before its cost is added up
+        batchCalculationService.checkBatchSize(scoringData.size());
+        int cost = 0;
+        for(ScoringDataDTO scoringDataDTO : scoringData) {
+            cost += admissionLimiter.cost(scoringDataDTO);
+        }
+        try (AdmissionLimiter.Permit permit = admissionLimiter.acquire(cost)) {
+            List<CreditResultDTO> creditResults = batchCalculationService.fillCreditInfo(scoringData);
+            return ResponseEntity.ok(creditResults);
+        }
+    }
+
+    private void writeSchedule(OutputStream outputStream, ObjectWriter writer, ScoringDataDTO scoringDataDTO,
+                               CreditDTO creditDTO) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+        writeLine(writer, generator, creditDTO);
+        // rows are written as the schedule loop produces them, so the schedule is never held in memory
+        if(PaymentSchedule.writesDirectly(generator, objectMapper.getSerializerProviderInstance())) {
+            char[] buffer = new char[24];
+            calculationService.generatePaymentSchedule(scoringDataDTO, creditDTO.getRate(),
+                    (number, epochDay, totalPayment, interestPayment, debtPayment, remainingDebt) -> writeRow(generator,
+                            number, epochDay, totalPayment, interestPayment, debtPayment, remainingDebt, buffer));
+        } else {
+            calculationService.generatePaymentSchedule(scoringDataDTO, creditDTO.getRate(),
+                    element -> writeLine(writer, generator, element));
+        }
+        generator.flush();
+    }
+
+    private void writeRow(JsonGenerator generator, int number, int epochDay, long totalPayment, long interestPayment,
+                          long debtPayment, long remainingDebt, char[] buffer) {
+        try {
+            PaymentSchedule.writeRow(generator, number, epochDay, totalPayment, interestPayment, debtPayment,
+                    remainingDebt, buffer);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(ObjectWriter writer, JsonGenerator generator, Object value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
 }
@@ -1,5 +1,6 @@
 package com.giftmaseya.conveyorservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -15,4 +16,6 @@ public class CreditDTO {
     private Boolean isInsuranceEnabled;
     private Boolean isSalaryClient;
     private List<PaymentScheduleElement> paymentSchedule;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ScoringTraceDTO scoringTrace;
 }
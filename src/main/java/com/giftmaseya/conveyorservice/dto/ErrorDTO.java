@@ -0,0 +1,13 @@
+package com.giftmaseya.conveyorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorDTO {
+    private String code;
+    private String message;
+}
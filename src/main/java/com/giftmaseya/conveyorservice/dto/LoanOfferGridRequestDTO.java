@@ -0,0 +1,24 @@
+package com.giftmaseya.conveyorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanOfferGridRequestDTO {
+
+    @Valid
+    @NotNull(message = "application cannot be null")
+    private LoanApplicationRequestDTO application;
+
+    @NotNull(message = "variants cannot be null")
+    @Size(min = 1, max = 100, message = "variants must contain between 1 and 100 amount and term pairs")
+    private List<@Valid OfferVariantDTO> variants;
+}
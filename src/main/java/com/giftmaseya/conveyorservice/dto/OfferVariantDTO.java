@@ -0,0 +1,24 @@
+package com.giftmaseya.conveyorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import java.math.BigDecimal;
+
+/**
+ * One cell of an offer grid. A missing amount or term is taken from the base application.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OfferVariantDTO {
+
+    @DecimalMin(value = "10000", message = "Amount cannot be less than 10 000")
+    private BigDecimal amount;
+
+    @Min(value = 6, message = "Loan term cannot be less than 6")
+    private Integer term;
+}
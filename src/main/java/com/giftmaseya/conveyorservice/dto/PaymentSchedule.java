@@ -0,0 +1,207 @@
+package com.giftmaseya.conveyorservice.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only payment schedule stored column by column: money as unscaled cents in {@code long} arrays
+ * and due dates as epoch days in an {@code int} array, so a 360-month schedule is six arrays instead of
+ * about two thousand small objects. {@link PaymentScheduleElement}s are only created when an element is read.
+ */
+@JsonSerialize(using = PaymentSchedule.Serializer.class)
+public final class PaymentSchedule extends AbstractList<PaymentScheduleElement> implements RandomAccess {
+
+    private static final int MONEY_SCALE = 2;
+
+    private final int firstNumber;
+    private final int[] dueDates;
+    private final long[] totalPayment;
+    private final long[] interestPayment;
+    private final long[] debtPayment;
+    private final long[] remainingDebt;
+
+    /**
+     * Takes ownership of the columns, which must all have the same length. Row {@code i} is installment
+     * {@code firstNumber + i}.
+     */
+    public PaymentSchedule(int firstNumber, int[] dueDates, long[] totalPayment, long[] interestPayment,
+                           long[] debtPayment, long[] remainingDebt) {
+        this.firstNumber = firstNumber;
+        this.dueDates = dueDates;
+        this.totalPayment = totalPayment;
+        this.interestPayment = interestPayment;
+        this.debtPayment = debtPayment;
+        this.remainingDebt = remainingDebt;
+    }
+
+    @Override
+    public PaymentScheduleElement get(int index) {
+        return new PaymentScheduleElement(
+                firstNumber + index,
+                LocalDate.ofEpochDay(dueDates[index]),
+                BigDecimal.valueOf(totalPayment[index], MONEY_SCALE),
+                BigDecimal.valueOf(interestPayment[index], MONEY_SCALE),
+                BigDecimal.valueOf(debtPayment[index], MONEY_SCALE),
+                BigDecimal.valueOf(remainingDebt[index], MONEY_SCALE));
+    }
+
+    @Override
+    public int size() {
+        return dueDates.length;
+    }
+
+    /**
+     * Whether {@link #writeRow} produces the same output as serializing the element through the
+     * provider, that is a text format with the stock {@code BigDecimal} and ISO {@code LocalDate} serializers.
+     */
+    public static boolean writesDirectly(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        return !generator.canWriteBinaryNatively()
+                && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                && provider.findValueSerializer(BigDecimal.class).getClass() == NumberSerializer.class
+                && provider.findValueSerializer(LocalDate.class).getClass() == LocalDateSerializer.class;
+    }
+
+    /**
+     * Writes one row as a JSON object straight from the columns. The buffer is scratch space for number
+     * and date text, at least 24 chars, and can be reused across rows.
+     */
+    public void writeRow(JsonGenerator generator, int index, char[] buffer) throws IOException {
+        writeRow(generator, firstNumber + index, dueDates[index], totalPayment[index], interestPayment[index],
+                debtPayment[index], remainingDebt[index], buffer);
+    }
+
+    /**
+     * Writes one installment handed over by a {@link RowSink} the way {@link #writeRow} writes a stored row,
+     * for callers that stream the schedule without keeping it.
+     */
+    public static void writeRow(JsonGenerator generator, int number, int epochDay, long totalPayment,
+                                long interestPayment, long debtPayment, long remainingDebt, char[] buffer) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(Fields.NUMBER);
+        generator.writeNumber(number);
+        generator.writeFieldName(Fields.DATE);
+        generator.writeString(buffer, 0, formatDate(epochDay, buffer));
+        generator.writeFieldName(Fields.TOTAL_PAYMENT);
+        generator.writeNumber(buffer, 0, formatCents(totalPayment, buffer));
+        generator.writeFieldName(Fields.INTEREST_PAYMENT);
+        generator.writeNumber(buffer, 0, formatCents(interestPayment, buffer));
+        generator.writeFieldName(Fields.DEBT_PAYMENT);
+        generator.writeNumber(buffer, 0, formatCents(debtPayment, buffer));
+        generator.writeFieldName(Fields.REMAINING_DEBT);
+        generator.writeNumber(buffer, 0, formatCents(remainingDebt, buffer));
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes cents as a plain decimal with two fraction digits, the same text as {@code BigDecimal.valueOf(cents, 2)}.
+     */
+    static int formatCents(long cents, char[] buffer) {
+
+        if(cents == Long.MIN_VALUE) {
+            return copy(BigDecimal.valueOf(cents, MONEY_SCALE).toPlainString(), buffer);
+        }
+
+        long value = Math.abs(cents);
+        int length = 0;
+        if(cents < 0) {
+            buffer[length++] = '-';
+        }
+
+        long units = value / 100;
+        int digits = 1;
+        for(long rest = units / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for(int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + units % 10);
+            units /= 10;
+        }
+        length += digits;
+
+        int fraction = (int) (value % 100);
+        buffer[length++] = '.';
+        buffer[length++] = (char) ('0' + fraction / 10);
+        buffer[length++] = (char) ('0' + fraction % 10);
+
+        return length;
+    }
+
+    private static int formatDate(int epochDay, char[] buffer) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        int year = date.getYear();
+        if(year < 0 || year > 9999) {
+            return copy(date.toString(), buffer);
+        }
+        buffer[0] = (char) ('0' + year / 1000);
+        buffer[1] = (char) ('0' + year / 100 % 10);
+        buffer[2] = (char) ('0' + year / 10 % 10);
+        buffer[3] = (char) ('0' + year % 10);
+        buffer[4] = '-';
+        buffer[5] = (char) ('0' + date.getMonthValue() / 10);
+        buffer[6] = (char) ('0' + date.getMonthValue() % 10);
+        buffer[7] = '-';
+        buffer[8] = (char) ('0' + date.getDayOfMonth() / 10);
+        buffer[9] = (char) ('0' + date.getDayOfMonth() % 10);
+        return 10;
+    }
+
+    private static int copy(String text, char[] buffer) {
+        text.getChars(0, text.length(), buffer, 0);
+        return text.length();
+    }
+
+    /**
+     * Receives a schedule one installment at a time: money in cents, the due date as an epoch day.
+     */
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(int number, int epochDay, long totalPayment, long interestPayment, long debtPayment, long remainingDebt);
+    }
+
+    private static final class Fields {
+        static final SerializedString NUMBER = new SerializedString("number");
+        static final SerializedString DATE = new SerializedString("date");
+        static final SerializedString TOTAL_PAYMENT = new SerializedString("totalPayment");
+        static final SerializedString INTEREST_PAYMENT = new SerializedString("interestPayment");
+        static final SerializedString DEBT_PAYMENT = new SerializedString("debtPayment");
+        static final SerializedString REMAINING_DEBT = new SerializedString("remainingDebt");
+    }
+
+    /**
+     * Serializes the rows straight from the columns when {@link #writesDirectly} allows it, and through
+     * the materialized elements otherwise, so binary formats keep their own amount and date encoding.
+     */
+    static final class Serializer extends JsonSerializer<PaymentSchedule> {
+
+        @Override
+        public void serialize(PaymentSchedule schedule, JsonGenerator generator, SerializerProvider provider) throws IOException {
+
+            generator.writeStartArray(schedule, schedule.size());
+
+            if(writesDirectly(generator, provider)) {
+                char[] buffer = new char[24];
+                for(int i = 0; i < schedule.size(); i++) {
+                    schedule.writeRow(generator, i, buffer);
+                }
+            } else {
+                for(int i = 0; i < schedule.size(); i++) {
+                    provider.defaultSerializeValue(schedule.get(i), generator);
+                }
+            }
+
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.giftmaseya.conveyorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScoringRuleDTO {
+    private String rule;
+    private String value;
+    private BigDecimal rateDelta;
+}
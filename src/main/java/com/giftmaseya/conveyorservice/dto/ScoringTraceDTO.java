@@ -0,0 +1,15 @@
+package com.giftmaseya.conveyorservice.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ScoringTraceDTO {
+    private BigDecimal initialRate;
+    private List<ScoringRuleDTO> rules = new ArrayList<>(6);
+    private BigDecimal rate;
+    private String refusal;
+}
@@ -1,7 +1,29 @@
 package com.giftmaseya.conveyorservice.exception;
 
+import com.giftmaseya.conveyorservice.utils.RefusalReasonEnum;
+
 public class ConveyorException extends RuntimeException{
+
+    private final RefusalReasonEnum refusalReason;
+
     public ConveyorException(String message) {
         super(message);
+        this.refusalReason = null;
+    }
+
+    /**
+     * Refusals are expected outcomes rather than faults: they carry no stack trace and no
+     * suppressed exceptions, so one immutable instance per refusal can be thrown from any thread.
+     */
+    public ConveyorException(RefusalReasonEnum refusalReason, String message) {
+        super(message, null, false, false);
+        this.refusalReason = refusalReason;
+    }
+
+    /**
+     * Scoring rule that refused the application, {@code null} for other errors.
+     */
+    public RefusalReasonEnum getRefusalReason() {
+        return refusalReason;
     }
 }
@@ -0,0 +1,58 @@
+package com.giftmaseya.conveyorservice.exception;
+
+import com.giftmaseya.conveyorservice.dto.ErrorDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import javax.validation.ConstraintViolationException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Writes refusals and other conveyor errors as a compact {@link ErrorDTO}, skipping the
+ * forward to {@code /error} and the error attributes Spring would otherwise collect.
+ * The status stays 500, as it was under the default error handling, except for an
+ * {@link InvalidRequestException} or an invalid request parameter, which are a 400. Work turned away by admission
+ * control or a full pool is a 503 with {@code Retry-After}, as on the reactive routes.
+ */
+@RestControllerAdvice
+public class ConveyorExceptionHandler {
+
+    private static final String ERROR_CODE = "ERROR";
+    private static final String INVALID_REQUEST_CODE = "INVALID_REQUEST";
+    private static final String OVERLOADED_CODE = "OVERLOADED";
+
+    @ExceptionHandler(ConveyorException.class)
+    public ResponseEntity<ErrorDTO> handleConveyorException(ConveyorException e) {
+        return ResponseEntity.status(toStatus(e)).body(toError(e));
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorDTO> handleConstraintViolation(ConstraintViolationException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorDTO(INVALID_REQUEST_CODE, e.getMessage()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorDTO> handleRejectedExecution(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorDTO(OVERLOADED_CODE, e.getMessage()));
+    }
+
+    public static HttpStatus toStatus(ConveyorException e) {
+        return e instanceof InvalidRequestException ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Refusals are coded by their reason, invalid requests as {@code INVALID_REQUEST},
+     * any other conveyor error as {@code ERROR}.
+     */
+    public static ErrorDTO toError(ConveyorException e) {
+        if(e.getRefusalReason() != null) {
+            return new ErrorDTO(e.getRefusalReason().name(), e.getMessage());
+        }
+        return new ErrorDTO(e instanceof InvalidRequestException ? INVALID_REQUEST_CODE : ERROR_CODE, e.getMessage());
+    }
+}
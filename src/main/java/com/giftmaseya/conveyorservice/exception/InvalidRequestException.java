@@ -0,0 +1,12 @@
+package com.giftmaseya.conveyorservice.exception;
+
+/**
+ * A request the conveyor cannot calculate as asked, such as an invalid installment range or an
+ * oversized batch. Answered with 400 rather than the 500 of other conveyor errors.
+ */
+public class InvalidRequestException extends ConveyorException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
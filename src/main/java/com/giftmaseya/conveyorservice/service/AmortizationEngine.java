@@ -0,0 +1,23 @@
+package com.giftmaseya.conveyorservice.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Computes the annuity monthly payment and psk of a loan.
+ * The implementation is selected with the {@code conveyor.amortization.engine} property.
+ */
+public interface AmortizationEngine {
+    AmortizationResult amortize(BigDecimal amount, BigDecimal rate, int numberOfPayments);
+
+    /**
+     * Monthly payment per unit of amount. The payment is linear in the amount, so one coefficient
+     * serves every amount with the same rate and number of payments.
+     */
+    BigDecimal paymentCoefficient(BigDecimal rate, int numberOfPayments);
+
+    /**
+     * Same result as {@link #amortize(BigDecimal, BigDecimal, int)}, given the coefficient
+     * {@link #paymentCoefficient} returned for this rate and number of payments.
+     */
+    AmortizationResult amortize(BigDecimal amount, BigDecimal rate, int numberOfPayments, BigDecimal paymentCoefficient);
+}
@@ -0,0 +1,22 @@
+package com.giftmaseya.conveyorservice.service;
+
+import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Result of a single amortization pass for one credit request.
+ * Holds everything {@link CalculationService#fillCreditInfo} needs so that
+ * the rate and the amortization are computed once per request.
+ */
+@Getter
+@AllArgsConstructor
+public class AmortizationResult {
+    private final BigDecimal rate;
+    private final BigDecimal monthlyPayment;
+    private final BigDecimal psk;
+    private final List<PaymentScheduleElement> paymentSchedule;
+}
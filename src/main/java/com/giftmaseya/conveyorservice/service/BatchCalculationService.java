@@ -0,0 +1,11 @@
+package com.giftmaseya.conveyorservice.service;
+
+import com.giftmaseya.conveyorservice.dto.CreditResultDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+
+import java.util.List;
+
+public interface BatchCalculationService {
+    List<CreditResultDTO> fillCreditInfo(List<ScoringDataDTO> scorings);
+    void checkBatchSize(int batchSize);
+}
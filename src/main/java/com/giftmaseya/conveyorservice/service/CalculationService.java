@@ -1,19 +1,45 @@
 package com.giftmaseya.conveyorservice.service;
 
 import com.giftmaseya.conveyorservice.dto.CreditDTO;
+import com.giftmaseya.conveyorservice.dto.PaymentSchedule;
 import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
 import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringTraceDTO;
+import com.giftmaseya.conveyorservice.utils.ScheduleModeEnum;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CalculationService {
     BigDecimal calcRate(ScoringDataDTO scoring);
+    ScoringTraceDTO traceRate(ScoringDataDTO scoring);
     BigDecimal calcRate(Boolean isInsuranceEnabled, Boolean isSalaryClient);
     long calculateAge(ScoringDataDTO scoring);
     BigDecimal calcMonthlyPayment(BigDecimal amount, BigDecimal rate, Integer term);
     BigDecimal calcPsk(BigDecimal amount, BigDecimal rate, Integer term);
+    AmortizationResult amortize(BigDecimal amount, BigDecimal rate, Integer term);
+    BigDecimal paymentCoefficient(BigDecimal rate, Integer term);
+    AmortizationResult amortize(BigDecimal amount, BigDecimal rate, Integer term, BigDecimal paymentCoefficient);
     CreditDTO fillCreditInfo(ScoringDataDTO scoring);
+    CreditDTO fillCreditInfo(ScoringDataDTO scoring, ScheduleModeEnum scheduleMode, int offset, int limit);
+    CreditDTO fillCreditSummary(ScoringDataDTO scoring);
     List<PaymentScheduleElement> generatePaymentSchedule(ScoringDataDTO scoringDataDTO);
+    void generatePaymentSchedule(ScoringDataDTO scoringDataDTO,
+                                 BigDecimal creditRate,
+                                 Consumer<PaymentScheduleElement> scheduleConsumer);
+    void generatePaymentSchedule(ScoringDataDTO scoringDataDTO,
+                                 BigDecimal creditRate,
+                                 PaymentSchedule.RowSink rowSink);
+    void generatePaymentSchedule(ScoringDataDTO scoringDataDTO,
+                                 BigDecimal creditRate,
+                                 int fromNumber,
+                                 int toNumber,
+                                 Consumer<PaymentScheduleElement> scheduleConsumer);
+    PaymentSchedule generatePaymentSchedule(ScoringDataDTO scoringDataDTO,
+                                            BigDecimal creditRate,
+                                            int fromNumber,
+                                            int toNumber);
+    List<PaymentScheduleElement> generatePaymentSchedule(ScoringDataDTO scoringDataDTO, int fromNumber, int toNumber);
 
 }
@@ -2,6 +2,7 @@ package com.giftmaseya.conveyorservice.service;
 
 import com.giftmaseya.conveyorservice.dto.LoanApplicationRequestDTO;
 import com.giftmaseya.conveyorservice.dto.LoanOfferDTO;
+import com.giftmaseya.conveyorservice.dto.LoanOfferGridRequestDTO;
 
 import java.util.List;
 
@@ -10,4 +11,5 @@ public interface OfferService {
     LoanOfferDTO createSingleOffer(Boolean isInsuranceEnabled,
                                    Boolean isSalaryClient,
                                    LoanApplicationRequestDTO request);
+    List<List<LoanOfferDTO>> loanOfferGrid(LoanOfferGridRequestDTO gridRequest);
 }
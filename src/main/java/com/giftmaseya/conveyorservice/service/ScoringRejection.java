@@ -0,0 +1,45 @@
+package com.giftmaseya.conveyorservice.service;
+
+import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.utils.RefusalReasonEnum;
+import lombok.Getter;
+
+/**
+ * Outcome of a failed pre-scoring check. Every refusal has a fixed message, so each one is a
+ * shared constant together with its stackless exception, and throwing it does not allocate.
+ */
+public final class ScoringRejection {
+
+    public static final ScoringRejection UNEMPLOYED = new ScoringRejection(
+            RefusalReasonEnum.UNEMPLOYED, "Unemployed individual does not qualify for a loan");
+    public static final ScoringRejection WORK_EXPERIENCE_TOTAL = new ScoringRejection(
+            RefusalReasonEnum.WORK_EXPERIENCE, "refusal: total work experience not enough, less than 12 months");
+    public static final ScoringRejection WORK_EXPERIENCE_CURRENT = new ScoringRejection(
+            RefusalReasonEnum.WORK_EXPERIENCE, "refusal: current work experience not enough, less than 3 months");
+    public static final ScoringRejection BIRTH_DATE_MISSING = new ScoringRejection(
+            RefusalReasonEnum.AGE, "value of birthDate cannot be null");
+    public static final ScoringRejection UNDER_EIGHTEEN = new ScoringRejection(
+            RefusalReasonEnum.AGE, "Age cannot be less than 18 years old");
+    public static final ScoringRejection UNDER_TWENTY = new ScoringRejection(
+            RefusalReasonEnum.AGE, "rejection: persons under 20 do not qualify for a loan");
+    public static final ScoringRejection OVER_SIXTY = new ScoringRejection(
+            RefusalReasonEnum.AGE, "rejection: persons over 60 do not qualify for a loan");
+    public static final ScoringRejection SALARY = new ScoringRejection(
+            RefusalReasonEnum.SALARY, "requested loan amount cannot be 20 times your salary");
+
+    @Getter
+    private final RefusalReasonEnum refusalReason;
+    @Getter
+    private final String message;
+    private final ConveyorException exception;
+
+    private ScoringRejection(RefusalReasonEnum refusalReason, String message) {
+        this.refusalReason = refusalReason;
+        this.message = message;
+        this.exception = new ConveyorException(refusalReason, message);
+    }
+
+    public ConveyorException toException() {
+        return exception;
+    }
+}
@@ -0,0 +1,216 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.utils.AppConstants;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive limit on the calculation work in flight, so a spike is turned away at once instead of
+ * queueing in Tomcat behind long schedules.
+ *
+ * <p>Work is counted in cost units: one per request plus one per {@code payments-per-unit} installments,
+ * so a 30-year schedule weighs more than a one-year one. The limit follows AIMD on measured latency:
+ * a request slower than its cost times the latency threshold cuts the limit by the backoff ratio,
+ * a faster one raises it by a unit while the limiter is at least half full. Work costlier than
+ * {@code max-limit} is never admitted.
+ */
+@Component
+public class AdmissionLimiter implements MeterBinder {
+
+    private static final RejectedExecutionException OVERLOADED =
+            new RejectedExecutionException("Calculation capacity exceeded, retry later") {
+                @Override
+                public Throwable fillInStackTrace() {
+                    return this;
+                }
+            };
+
+    private static final RejectedExecutionException TOO_COSTLY =
+            new RejectedExecutionException("Calculation exceeds the admission capacity, split it into smaller requests") {
+                @Override
+                public Throwable fillInStackTrace() {
+                    return this;
+                }
+            };
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int paymentsPerUnit;
+    private final LongSupplier ticker;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    // a lock rather than synchronized, so a virtual thread waiting for it does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private volatile int inFlight;
+
+    @Autowired
+    public AdmissionLimiter(@Value("${conveyor.admission.enabled:true}") boolean enabled,
+                            @Value("${conveyor.admission.initial-limit:64}") int initialLimit,
+                            @Value("${conveyor.admission.min-limit:8}") int minLimit,
+                            @Value("${conveyor.admission.max-limit:512}") int maxLimit,
+                            @Value("${conveyor.admission.latency-threshold-ms:100}") long latencyThresholdMs,
+                            @Value("${conveyor.admission.backoff-ratio:0.9}") double backoffRatio,
+                            @Value("${conveyor.admission.payments-per-unit:60}") int paymentsPerUnit) {
+        this(enabled, initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio, paymentsPerUnit, System::nanoTime);
+    }
+
+    AdmissionLimiter(boolean enabled, int initialLimit, int minLimit, int maxLimit, long latencyThresholdMs,
+                     double backoffRatio, int paymentsPerUnit, LongSupplier ticker) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+        this.paymentsPerUnit = paymentsPerUnit;
+        this.ticker = ticker;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Cost of calculating one application, from its term; a missing term counts as the cheapest.
+     */
+    public int cost(ScoringDataDTO scoringDataDTO) {
+        if(scoringDataDTO == null || scoringDataDTO.getTerm() == null) {
+            return 1;
+        }
+        return cost(scoringDataDTO.getTerm() * AppConstants.BASE_PERIOD);
+    }
+
+    /**
+     * Cost of recomputing an application's schedule up to the given installment, which counts
+     * no further than the last installment of its term.
+     */
+    public int cost(ScoringDataDTO scoringDataDTO, int toNumber) {
+        if(scoringDataDTO == null || scoringDataDTO.getTerm() == null) {
+            return cost(toNumber);
+        }
+        return cost(Math.min(toNumber, scoringDataDTO.getTerm() * AppConstants.BASE_PERIOD));
+    }
+
+    public int cost(int numberOfPayments) {
+        return 1 + Math.max(0, numberOfPayments) / paymentsPerUnit;
+    }
+
+    /**
+     * Admits work of the given cost or throws {@link RejectedExecutionException} when it does not fit
+     * under the limit. Work costlier than {@code max-limit} is always refused. Work costlier than the
+     * current limit takes up the whole limit and is admitted only on an idle limiter. Its latency is
+     * still judged on its full cost. The permit must be closed when the work is done.
+     */
+    public Permit acquire(int cost) {
+        if(!enabled) {
+            admitted.increment();
+            return new Permit(0, 0, 0);
+        }
+        if(cost > maxLimit) {
+            rejected.increment();
+            throw TOO_COSTLY;
+        }
+        int units;
+        lock.lock();
+        try {
+            units = Math.max(1, Math.min(cost, (int) limit));
+            if(inFlight + units > limit) {
+                rejected.increment();
+                throw OVERLOADED;
+            }
+            inFlight += units;
+        } finally {
+            lock.unlock();
+        }
+        admitted.increment();
+        return new Permit(units, Math.max(1, cost), ticker.getAsLong());
+    }
+
+    private void release(int units, int cost, long nanos) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight -= units;
+            if(nanos > cost * latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if(saturated) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("conveyor.admission.limit", this, AdmissionLimiter::getLimit)
+                .description("Calculation cost units currently admitted at once")
+                .register(registry);
+        Gauge.builder("conveyor.admission.inflight", this, AdmissionLimiter::getInFlight)
+                .description("Calculation cost units in flight")
+                .register(registry);
+        FunctionCounter.builder("conveyor.admission.requests", this, AdmissionLimiter::getAdmitted)
+                .description("Calculation requests passed through admission control")
+                .tag("result", "admitted")
+                .register(registry);
+        FunctionCounter.builder("conveyor.admission.requests", this, AdmissionLimiter::getRejected)
+                .description("Calculation requests passed through admission control")
+                .tag("result", "rejected")
+                .register(registry);
+    }
+
+    /**
+     * Admitted work; closing it releases the units it holds and feeds its latency, against its full cost,
+     * into the limit.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final int units;
+        private final int cost;
+        private final long start;
+        private boolean closed;
+
+        private Permit(int units, int cost, long start) {
+            this.units = units;
+            this.cost = cost;
+            this.start = start;
+        }
+
+        @Override
+        public void close() {
+            if(closed || units == 0) {
+                return;
+            }
+            closed = true;
+            release(units, cost, ticker.getAsLong() - start);
+        }
+    }
+}
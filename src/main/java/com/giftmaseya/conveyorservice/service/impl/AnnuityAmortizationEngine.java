@@ -0,0 +1,243 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.service.AmortizationEngine;
+import com.giftmaseya.conveyorservice.service.AmortizationResult;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * First-party annuity engine that reproduces the loan-amortization-calculator results
+ * without building a {@code LoanAmortization} and its monthly payment list.
+ *
+ * <p>The monthly payment is taken in closed form with (1+r)^n raised under a fixed
+ * {@link MathContext}. The overpayment keeps the library's per-installment rounding of
+ * the interest, but runs it over cents held in a {@code long}.
+ *
+ * <p>The monthly rate and annuity coefficient depend only on the rate and the number of payments,
+ * and the offer rates come from a small rule table, so both are kept per (rate, term) and the power
+ * is raised once per pair rather than on every call.
+ */
+@Service
+@ConditionalOnProperty(name = "conveyor.amortization.engine", havingValue = "annuity")
+public class AnnuityAmortizationEngine implements AmortizationEngine {
+
+    static final MathContext MATH_CONTEXT = MathContext.DECIMAL128;
+    private static final int RATE_SCALE = 15;
+    private static final int MONEY_SCALE = 2;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal MONTHS_IN_YEAR = BigDecimal.valueOf(12);
+
+    private static final long RATE_SPLIT = 100_000_000L;
+    private static final long RATE_HIGH_DIVISOR = 10_000_000L;
+    private static final long RATE_ONE = 1_000_000_000_000_000L;
+    private static final long BALANCE_LIMIT = 10_000_000_000L;
+    static final int MAX_CACHED_TERMS = 4096;
+
+    // a lock rather than a synchronized map, so a virtual thread waiting for it does not pin its carrier
+    private final Map<Key, AnnuityTerms> annuityTerms = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, AnnuityTerms> eldest) {
+            return size() > MAX_CACHED_TERMS;
+        }
+    };
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public AmortizationResult amortize(BigDecimal amount, BigDecimal rate, int numberOfPayments) {
+
+        AnnuityTerms terms = annuityTerms(rate, numberOfPayments);
+        return amortize(amount, rate, numberOfPayments, terms.monthlyRate, terms.coefficient);
+    }
+
+    /**
+     * The coefficient of a zero or negative rate is one payment in {@code numberOfPayments};
+     * such a rate is priced by division whatever coefficient is passed.
+     */
+    @Override
+    public BigDecimal paymentCoefficient(BigDecimal rate, int numberOfPayments) {
+        AnnuityTerms terms = annuityTerms(rate, numberOfPayments);
+        return terms.coefficient != null
+                ? terms.coefficient
+                : BigDecimal.ONE.divide(BigDecimal.valueOf(numberOfPayments), RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public AmortizationResult amortize(BigDecimal amount, BigDecimal rate, int numberOfPayments, BigDecimal paymentCoefficient) {
+        BigDecimal monthlyRate = annuityTerms(rate, numberOfPayments).monthlyRate;
+        return amortize(amount, rate, numberOfPayments, monthlyRate, monthlyRate.signum() > 0 ? paymentCoefficient : null);
+    }
+
+    private static AmortizationResult amortize(BigDecimal amount, BigDecimal rate, int numberOfPayments,
+                                               BigDecimal monthlyRate, BigDecimal coefficient) {
+
+        BigDecimal monthlyPayment = coefficient != null
+                ? monthlyPayment(amount, coefficient)
+                : monthlyPayment(amount, monthlyRate, numberOfPayments);
+        BigDecimal overPayment = overPayment(amount, monthlyRate, monthlyPayment, numberOfPayments);
+
+        return new AmortizationResult(rate, monthlyPayment, overPayment.add(amount), Collections.emptyList());
+    }
+
+    /**
+     * Terms of a (rate, term) pair from a bounded LRU map, so arbitrary rates cannot grow it
+     * and the pairs in use stay cached when the rule table changes. The power is raised outside the lock.
+     */
+    private AnnuityTerms annuityTerms(BigDecimal rate, int numberOfPayments) {
+        Key key = new Key(rate, numberOfPayments);
+        AnnuityTerms terms;
+        lock.lock();
+        try {
+            terms = annuityTerms.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if(terms != null) {
+            return terms;
+        }
+
+        terms = new AnnuityTerms(rate, numberOfPayments);
+        lock.lock();
+        try {
+            annuityTerms.put(key, terms);
+        } finally {
+            lock.unlock();
+        }
+        return terms;
+    }
+
+    int cachedTerms() {
+        lock.lock();
+        try {
+            return annuityTerms.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static BigDecimal monthlyRate(BigDecimal rate) {
+        return rate.divide(HUNDRED, RATE_SCALE, RoundingMode.HALF_UP)
+                .divide(MONTHS_IN_YEAR, RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal monthlyPayment(BigDecimal amount, BigDecimal monthlyRate, int numberOfPayments) {
+
+        if(monthlyRate.signum() <= 0) {
+            return amount.divide(BigDecimal.valueOf(numberOfPayments), RATE_SCALE, RoundingMode.HALF_UP)
+                    .setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+        }
+
+        return monthlyPayment(amount, annuityCoefficient(monthlyRate, numberOfPayments));
+    }
+
+    /**
+     * The payment is linear in the amount, so one coefficient serves every amount with the same rate and term.
+     */
+    static BigDecimal monthlyPayment(BigDecimal amount, BigDecimal annuityCoefficient) {
+        return amount.multiply(annuityCoefficient).setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * r * (1+r)^n / ((1+r)^n - 1), rounded to the same scale the library uses.
+     */
+    static BigDecimal annuityCoefficient(BigDecimal monthlyRate, int numberOfPayments) {
+        BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(numberOfPayments, MATH_CONTEXT);
+        return monthlyRate.multiply(growth, MATH_CONTEXT)
+                .divide(growth.subtract(BigDecimal.ONE), RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal overPayment(BigDecimal amount, BigDecimal monthlyRate, BigDecimal monthlyPayment, int numberOfPayments) {
+
+        if(!fitsInCents(amount) || !fitsInCents(monthlyPayment)
+                || monthlyRate.signum() < 0 || monthlyRate.compareTo(BigDecimal.ONE) >= 0) {
+            return overPaymentExact(amount, monthlyRate, monthlyPayment, numberOfPayments);
+        }
+
+        long rateUnscaled = monthlyRate.unscaledValue().longValueExact();
+        long balance = amount.setScale(MONEY_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        long payment = monthlyPayment.unscaledValue().longValueExact();
+        long overPayment = 0;
+
+        for(int i = 1; i < numberOfPayments; i++) {
+            if(Math.abs(balance) >= BALANCE_LIMIT) {
+                return overPaymentExact(amount, monthlyRate, monthlyPayment, numberOfPayments);
+            }
+            long interest = interestCents(balance, rateUnscaled);
+            overPayment += interest;
+            balance -= payment - interest;
+        }
+
+        if(Math.abs(balance) >= BALANCE_LIMIT) {
+            return overPaymentExact(amount, monthlyRate, monthlyPayment, numberOfPayments);
+        }
+        overPayment += interestCents(balance, rateUnscaled);
+
+        return BigDecimal.valueOf(overPayment, MONEY_SCALE);
+    }
+
+    /**
+     * Rounds balance * rate half-up to whole cents, where the rate carries 15 decimals.
+     * The rate is split in two halves so that no intermediate product leaves the {@code long} range.
+     */
+    private static long interestCents(long balance, long rateUnscaled) {
+
+        if(balance < 0) {
+            return -interestCents(-balance, rateUnscaled);
+        }
+
+        long high = balance * (rateUnscaled / RATE_SPLIT);
+        long low = balance * (rateUnscaled % RATE_SPLIT);
+
+        long quotient = high / RATE_HIGH_DIVISOR;
+        long remainder = (high % RATE_HIGH_DIVISOR) * RATE_SPLIT + low;
+        quotient += remainder / RATE_ONE;
+        remainder = remainder % RATE_ONE;
+
+        return remainder * 2 >= RATE_ONE ? quotient + 1 : quotient;
+    }
+
+    private static BigDecimal overPaymentExact(BigDecimal amount, BigDecimal monthlyRate, BigDecimal monthlyPayment, int numberOfPayments) {
+
+        BigDecimal balance = amount;
+        BigDecimal overPayment = BigDecimal.ZERO;
+
+        for(int i = 1; i <= numberOfPayments; i++) {
+            BigDecimal interest = balance.multiply(monthlyRate).setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+            overPayment = overPayment.add(interest);
+            balance = balance.subtract(monthlyPayment.subtract(interest));
+        }
+
+        return overPayment.setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static boolean fitsInCents(BigDecimal value) {
+        return value.scale() <= MONEY_SCALE && value.abs().compareTo(BigDecimal.valueOf(BALANCE_LIMIT, MONEY_SCALE)) < 0;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class Key {
+        private final BigDecimal rate;
+        private final int numberOfPayments;
+    }
+
+    private static final class AnnuityTerms {
+
+        private final BigDecimal monthlyRate;
+        private final BigDecimal coefficient;
+
+        private AnnuityTerms(BigDecimal rate, int numberOfPayments) {
+            this.monthlyRate = monthlyRate(rate);
+            this.coefficient = monthlyRate.signum() > 0 ? annuityCoefficient(monthlyRate, numberOfPayments) : null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.CreditResultDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.exception.InvalidRequestException;
+import com.giftmaseya.conveyorservice.service.BatchCalculationService;
+import com.giftmaseya.conveyorservice.service.CalculationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+@Slf4j
+@Service
+public class BatchCalculationServiceImpl implements BatchCalculationService {
+
+    private static final String ITEM_FAILED = "application could not be calculated";
+
+    private final CalculationService calculationService;
+    private final ExecutorService batchCalculationPool;
+    private final int maxBatchSize;
+
+    public BatchCalculationServiceImpl(CalculationService calculationService,
+                                       @Qualifier("batchCalculationPool") ExecutorService batchCalculationPool,
+                                       @Value("${conveyor.calculation.batch.max-size:1000}") int maxBatchSize) {
+        this.calculationService = calculationService;
+        this.batchCalculationPool = batchCalculationPool;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public List<CreditResultDTO> fillCreditInfo(List<ScoringDataDTO> scorings) {
+
+        log.info("Generating credit information for a batch of {} applications", scorings.size());
+
+        checkBatchSize(scorings.size());
+
+        List<Callable<CreditResultDTO>> tasks = new ArrayList<>(scorings.size());
+        for(ScoringDataDTO scoring : scorings) {
+            tasks.add(() -> fillCreditResult(scoring));
+        }
+
+        try {
+            List<Future<CreditResultDTO>> futures = batchCalculationPool.invokeAll(tasks);
+            List<CreditResultDTO> results = new ArrayList<>(futures.size());
+            for(Future<CreditResultDTO> future : futures) {
+                results.add(future.get());
+            }
+            return Collections.unmodifiableList(results);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ConveyorException(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConveyorException("batch calculation was interrupted");
+        }
+    }
+
+    @Override
+    public void checkBatchSize(int batchSize) {
+        if(batchSize > maxBatchSize) {
+            throw new InvalidRequestException("batch size cannot exceed " + maxBatchSize + " applications");
+        }
+    }
+
+    /**
+     * A refusal or any other failure only fails its own item, the rest of the batch is still calculated.
+     * Unexpected errors are logged and reported without their internal message.
+     */
+    private CreditResultDTO fillCreditResult(ScoringDataDTO scoring) {
+        try {
+            return new CreditResultDTO(calculationService.fillCreditInfo(scoring), null);
+        } catch (ConveyorException e) {
+            return new CreditResultDTO(null, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("batch item could not be calculated", e);
+            return new CreditResultDTO(null, ITEM_FAILED);
+        }
+    }
+}
@@ -2,244 +2,498 @@ package com.giftmaseya.conveyorservice.service.impl;
 
 import com.giftmaseya.conveyorservice.dto.CreditDTO;
 import com.giftmaseya.conveyorservice.dto.EmploymentDTO;
+import com.giftmaseya.conveyorservice.dto.PaymentSchedule;
 import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
 import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringRuleDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringTraceDTO;
 import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.exception.InvalidRequestException;
+import com.giftmaseya.conveyorservice.service.AmortizationEngine;
+import com.giftmaseya.conveyorservice.service.AmortizationResult;
 import com.giftmaseya.conveyorservice.service.CalculationService;
+import com.giftmaseya.conveyorservice.service.ScoringRejection;
 import com.giftmaseya.conveyorservice.utils.*;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import paqua.loan.amortization.api.LoanAmortizationCalculator;
-import paqua.loan.amortization.api.impl.LoanAmortizationCalculatorFactory;
-import paqua.loan.amortization.dto.Loan;
-import paqua.loan.amortization.dto.LoanAmortization;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.Period;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class CalculationServiceImpl implements CalculationService {
 
+    private final AmortizationEngine amortizationEngine;
+    private final ScoringTracer scoringTracer;
+    private final ConveyorMetrics conveyorMetrics;
+    private final ScoringRules scoringRules;
+    private final CreditResultCache creditResultCache;
+    private final DueDateCalendar dueDateCalendar;
+
     @Override
     public BigDecimal calcRate(ScoringDataDTO scoring) {
+        return calcRate(scoring, dueDateCalendar.current().today());
+    }
 
-        log.info("*******scoring******* for {} {} {}", scoring.getFirstName(), scoring.getMiddleName(), scoring.getLastName());
-
-        BigDecimal rate = new BigDecimal(String.valueOf(AppConstants.INITIAL_RATE));
+    private BigDecimal calcRate(ScoringDataDTO scoring, LocalDate today) {
 
-        log.info("populating employment information");
-        EmploymentDTO employmentInfo = scoring.getEmployment();
+        ScoringTraceDTO trace = scoringTracer.isEnabled() ? new ScoringTraceDTO() : null;
+        long start = System.nanoTime();
 
-        if(employmentInfo.getEmploymentStatus() == EmploymentStatusEnum.SELF_EMPLOYED) {
-            log.info("rate increases by 1 with employment status of SELF_EMPLOYED");
-            rate = rate.add(AppConstants.SELF_EMPLOYED_RATE);
-        } else if (employmentInfo.getEmploymentStatus() == EmploymentStatusEnum.UNEMPLOYED) {
-            log.info("Refusal: cannot offer loan to an unemployed individual");
-            throw new ConveyorException("Unemployed individual does not qualify for a loan");
-        } else if (employmentInfo.getEmploymentStatus() == EmploymentStatusEnum.BUSINESS_OWNER) {
-            log.info("rate increases by three for employment status of BUSINESS_OWNER");
-            rate = rate.add(AppConstants.BUSINESS_OWNER_RATE);
+        try {
+            return calcRate(scoring, trace, today);
+        } catch (ConveyorException e) {
+            conveyorMetrics.recordRefusal(e.getRefusalReason());
+            if(trace != null) {
+                trace.setRefusal(e.getMessage());
+            }
+            throw e;
+        } finally {
+            conveyorMetrics.recordScoring(System.nanoTime() - start);
+            scoringTracer.emit(trace);
         }
+    }
 
-        if(employmentInfo.getPosition() == PositionEnum.TOP_MANAGER) {
-            log.info("rate decrease by 4 for top manager");
-            rate = rate.subtract(AppConstants.TOP_MAN_RATE);
-        }
+    @Override
+    public ScoringTraceDTO traceRate(ScoringDataDTO scoring) {
 
-        if(employmentInfo.getPosition() == PositionEnum.MIDDLE_MANAGER) {
-            log.info("rate decreases by 2 for middle manager");
-            rate = rate.subtract(AppConstants.MIDDLE_MAN_RATE);
-        }
+        ScoringTraceDTO trace = new ScoringTraceDTO();
 
-        if(employmentInfo.getSalary().multiply(BigDecimal.valueOf(20)).compareTo(scoring.getAmount()) < 0) {
-            log.info("requested loan amount cannot be 20 times your salary");
-            throw new ConveyorException("requested loan amount cannot be 20 times your salary");
+        try {
+            calcRate(scoring, trace, dueDateCalendar.current().today());
+        } catch (ConveyorException e) {
+            trace.setRefusal(e.getMessage());
         }
 
-        if(scoring.getMaritalStatus() == MaritalStatusEnum.MARRIED) {
-            log.info("rate is reduced by 3 because marital status is MARRIED");
-            rate = rate.subtract(AppConstants.MARRIED_RATE);
-        } else if(scoring.getMaritalStatus() == MaritalStatusEnum.DIVORCED) {
-            log.info("rate is increased by 1 because marital status is DIVORCED");
-            rate = rate.add(AppConstants.DIVORCED_RATE);
-        }
+        return trace;
+    }
 
-        if(scoring.getDependentAmount() > 1) {
-            log.info("rate increases by 1 since number of dependents is greater than 1");
-            rate = rate.add(BigDecimal.ONE);
-        }
+    /**
+     * Runs the rejection stage, then scores the application in basis points and records
+     * each rule that moved the rate into the trace, when one is given.
+     */
+    private BigDecimal calcRate(ScoringDataDTO scoring, ScoringTraceDTO trace, LocalDate today) {
 
-        long age = calculateAge(scoring);
-        if(age < 20) {
-            log.info("rejection: persons under 20 do not qualify for a loan");
-            throw new ConveyorException("rejection: persons under 20 do not qualify for a loan");
-        } else if (age > 60) {
-            log.info("rejection: persons over 60 do not qualify for a loan");
-            throw new ConveyorException("rejection: persons over 60 do not qualify for a loan");
+        ScoringRejection rejection = RejectionStage.check(scoring, today);
+        if(rejection != null) {
+            throw rejection.toException();
         }
 
-        if((scoring.getGender() == GenderEnum.FEMALE) && (age >= 35)) {
-            log.info("rate is reduced by 3 because gender is FEMALE and age is between 35 and 60 ");
-            rate = rate.subtract(BigDecimal.valueOf(3));
-        }else if((scoring.getGender() == GenderEnum.MALE) && (age >= 30 && age <= 55)) {
-            log.info("rate is reduced by 3 because gender is MALE and age is between 30 and 55 ");
-            rate = rate.subtract(BigDecimal.valueOf(3));
+        RateTable rates = scoringRules.current();
+        if(trace != null) {
+            trace.setInitialRate(RateTable.toRate(rates.initialRate()));
         }
 
-        if(employmentInfo.getWorkExperienceTotal() < 12) {
-            log.info("refusal: total work experience not enough, less than 12 months");
-            throw new ConveyorException("refusal: total work experience not enough, less than 12 months");
-        } else if(employmentInfo.getWorkExperienceCurrent() < 3) {
-            log.info("refusal: current work experience not enough, less than 3 months");
-            throw new ConveyorException("refusal: current work experience not enough, less than 3 months");
+        int age = RejectionStage.yearsBetween(scoring.getBirthDate(), today);
+        BigDecimal scoredRate = RateTable.toRate(score(rates, scoring, age, trace));
+        if(trace != null) {
+            trace.setRate(scoredRate);
         }
 
-        return rate;
+        return scoredRate;
 
     }
 
-    @Override
-    public BigDecimal calcRate(Boolean isInsuranceEnabled, Boolean isSalaryClient) {
+    /**
+     * Adds up the rate in basis points for an application that passed the rejection stage.
+     * Shared with {@link PortfolioSimulator}, which scores against tables other than the live one.
+     */
+    static int score(RateTable rates, ScoringDataDTO scoring, int age, ScoringTraceDTO trace) {
 
-        log.info("Calculating Rate");
+        EmploymentDTO employmentInfo = scoring.getEmployment();
 
-        BigDecimal rate = AppConstants.INITIAL_RATE;
+        int rate = rates.initialRate();
+        rate += record(trace, "employmentStatus", employmentInfo.getEmploymentStatus(),
+                rates.employmentStatus(employmentInfo.getEmploymentStatus()));
+        rate += record(trace, "position", employmentInfo.getPosition(),
+                rates.position(employmentInfo.getPosition()));
+        rate += record(trace, "maritalStatus", scoring.getMaritalStatus(),
+                rates.maritalStatus(scoring.getMaritalStatus()));
 
-        if(!isInsuranceEnabled && !isSalaryClient) {
-            rate = rate.add(BigDecimal.valueOf(1.5));
+        if(scoring.getDependentAmount() > 1) {
+            rate += record(trace, "dependentAmount", scoring.getDependentAmount(), rates.dependentRate());
         }
 
-        if(!isInsuranceEnabled && isSalaryClient) {
-            rate = rate.add(BigDecimal.valueOf(0.5));
-        }
+        rate += record(trace, "genderAge", scoring.getGender(), rates.genderAge(scoring.getGender(), age));
 
-        if(isInsuranceEnabled && !isSalaryClient) {
-            rate = rate.add(BigDecimal.valueOf(0.5));
-        }
+        return rate;
+    }
 
-        if(isInsuranceEnabled && isSalaryClient) {
-            rate = rate.subtract(BigDecimal.valueOf(1.5));
+    private static int record(ScoringTraceDTO trace, String rule, Object value, int rateDelta) {
+        if(trace != null && rateDelta != 0) {
+            trace.getRules().add(new ScoringRuleDTO(rule, String.valueOf(value), RateTable.toRate(rateDelta)));
         }
+        return rateDelta;
+    }
 
-        return rate;
+    @Override
+    public BigDecimal calcRate(Boolean isInsuranceEnabled, Boolean isSalaryClient) {
+
+        log.debug("Calculating Rate");
+
+        return RateTable.toRate(scoringRules.current().offerRate(isInsuranceEnabled, isSalaryClient));
     }
 
     @Override
     public long calculateAge(ScoringDataDTO scoring) {
 
-        log.info("Checking for valid age");
+        log.debug("Checking for valid age");
 
         if(scoring.getBirthDate() != null) {
-            int age = Period.between(scoring.getBirthDate(), LocalDate.now()).getYears();
+            int age = RejectionStage.yearsBetween(scoring.getBirthDate(), dueDateCalendar.current().today());
             if(age >= 18) {
                 return age;
             } else {
-                throw new ConveyorException("Age cannot be less than 18 years old");
+                throw ScoringRejection.UNDER_EIGHTEEN.toException();
             }
         } else {
-            throw new ConveyorException("value of birthDate cannot be null");
+            throw ScoringRejection.BIRTH_DATE_MISSING.toException();
         }
     }
 
     @Override
     public BigDecimal calcMonthlyPayment(BigDecimal amount, BigDecimal rate, Integer term) {
 
-        log.info("Calculating monthly installments of the loan");
-
-        term = term * AppConstants.BASE_PERIOD;
+        log.debug("Calculating monthly installments of the loan");
 
-        Loan loan = Loan.builder()
-                .amount(amount)
-                .rate(rate)
-                .term(term)
-                .build();
-
-        LoanAmortizationCalculator calculator = LoanAmortizationCalculatorFactory.create();
-        LoanAmortization amortization = calculator.calculate(loan);
-        return amortization.getMonthlyPaymentAmount();
+        return amortize(amount, rate, term).getMonthlyPayment();
     }
 
     @Override
     public BigDecimal calcPsk(BigDecimal amount, BigDecimal rate, Integer term) {
 
-        log.info("Calculating monthly installments of the loan");
-
-        term = term * AppConstants.BASE_PERIOD;
+        log.debug("Calculating monthly installments of the loan");
 
-        Loan loan = Loan.builder()
-                .amount(amount)
-                .rate(rate)
-                .term(term)
-                .build();
-
-        LoanAmortizationCalculator calculator = LoanAmortizationCalculatorFactory.create();
-        LoanAmortization amortization = calculator.calculate(loan);
-        return amortization.getOverPaymentAmount().add(amount);
+        return amortize(amount, rate, term).getPsk();
     }
 
 
 
     @Override
     public CreditDTO fillCreditInfo(ScoringDataDTO scoring) {
+        return fillCreditInfo(scoring, dueDateCalendar.current());
+    }
 
-        log.info("Generating credit information");
+    private CreditDTO fillCreditInfo(ScoringDataDTO scoring, DueDateCalendar.DueDates dueDates) {
 
-        BigDecimal rate = calcRate(scoring);
-        BigDecimal monthlyPayment = calcMonthlyPayment(scoring.getAmount(), rate, scoring.getTerm());
-        BigDecimal psk = calcPsk(scoring.getAmount(), rate, scoring.getTerm());
+        log.debug("Generating credit information");
 
-        CreditDTO creditDTO = new CreditDTO();
-        creditDTO.setAmount(scoring.getAmount());
-        creditDTO.setTerm(scoring.getTerm());
-        creditDTO.setMonthlyPayment(monthlyPayment);
-        creditDTO.setRate(rate);
-        creditDTO.setPsk(psk);
-        creditDTO.setIsInsuranceEnabled(scoring.getIsInsuranceEnabled());
-        creditDTO.setIsSalaryClient(scoring.getIsSalaryClient());
-        creditDTO.setPaymentSchedule(generatePaymentSchedule(scoring));
+        AmortizationResult credit = creditResultCache.get(scoring, dueDates.today(), () -> calculateCredit(scoring, dueDates));
+        CreditDTO creditDTO = toCreditDTO(scoring, credit);
+        creditDTO.setPaymentSchedule(credit.getPaymentSchedule());
 
         return creditDTO;
 
     }
 
+    @Override
+    public CreditDTO fillCreditSummary(ScoringDataDTO scoring) {
+        return fillCreditSummary(scoring, dueDateCalendar.current().today());
+    }
+
+    private CreditDTO fillCreditSummary(ScoringDataDTO scoring, LocalDate today) {
+
+        log.debug("Generating credit summary");
+
+        BigDecimal rate = calcRate(scoring, today);
+
+        return toCreditDTO(scoring, amortize(scoring.getAmount(), rate, scoring.getTerm()));
+    }
+
     @Override
     public List<PaymentScheduleElement> generatePaymentSchedule(ScoringDataDTO scoringDataDTO) {
 
-        log.info("Generating the payment schedule");
+        log.debug("Generating the payment schedule");
+
+        DueDateCalendar.DueDates dueDates = dueDateCalendar.current();
+        return paymentSchedule(scoringDataDTO, calcRate(scoringDataDTO, dueDates.today()), 1, Integer.MAX_VALUE, dueDates);
+    }
+
+    @Override
+    public void generatePaymentSchedule(ScoringDataDTO scoringDataDTO,
+                                        BigDecimal creditRate,
+                                        Consumer<PaymentScheduleElement> scheduleConsumer) {
+        generatePaymentSchedule(scoringDataDTO, creditRate, 1, Integer.MAX_VALUE, scheduleConsumer);
+    }
+
+    /**
+     * Hands every installment to the sink as it is computed, in cents, without building an element per row.
+     */
+    @Override
+    public void generatePaymentSchedule(ScoringDataDTO scoringDataDTO,
+                                        BigDecimal creditRate,
+                                        PaymentSchedule.RowSink rowSink) {
+        runSchedule(scoringDataDTO, creditRate, 1, Integer.MAX_VALUE, dueDateCalendar.current(), rowSink);
+    }
 
+    @Override
+    public void generatePaymentSchedule(ScoringDataDTO scoringDataDTO,
+                                        BigDecimal creditRate,
+                                        int fromNumber,
+                                        int toNumber,
+                                        Consumer<PaymentScheduleElement> scheduleConsumer) {
+        runSchedule(scoringDataDTO, creditRate, fromNumber, toNumber, dueDateCalendar.current(),
+                (number, epochDay, totalPayment, interestPayment, debtPayment, remainingDebt) ->
+                        scheduleConsumer.accept(toElement(number, epochDay, totalPayment, interestPayment,
+                                debtPayment, remainingDebt)));
+    }
+
+    private static PaymentScheduleElement toElement(int number, int epochDay, long totalPayment, long interestPayment,
+                                                    long debtPayment, long remainingDebt) {
+        return new PaymentScheduleElement(
+                number,
+                LocalDate.ofEpochDay(epochDay),
+                BigDecimal.valueOf(totalPayment, DecimalPolicy.MONEY_SCALE),
+                BigDecimal.valueOf(interestPayment, DecimalPolicy.MONEY_SCALE),
+                BigDecimal.valueOf(debtPayment, DecimalPolicy.MONEY_SCALE),
+                BigDecimal.valueOf(remainingDebt, DecimalPolicy.MONEY_SCALE));
+    }
 
-        BigDecimal rate = calcRate(scoringDataDTO).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_EVEN);
-        BigDecimal totalPayment = calcMonthlyPayment(scoringDataDTO.getAmount(), rate, scoringDataDTO.getTerm());
-        BigDecimal remainingDebt = calcPsk(scoringDataDTO.getAmount(), rate, scoringDataDTO.getTerm());
-        BigDecimal monthlyInterestRate = rate.divide(BigDecimal.valueOf(AppConstants.BASE_PERIOD), 2, RoundingMode.HALF_EVEN);
+    /**
+     * Fills the columns of installments {@code fromNumber} to {@code toNumber} from {@link #runSchedule}.
+     */
+    @Override
+    public PaymentSchedule generatePaymentSchedule(ScoringDataDTO scoringDataDTO,
+                                                   BigDecimal creditRate,
+                                                   int fromNumber,
+                                                   int toNumber) {
+        return paymentSchedule(scoringDataDTO, creditRate, fromNumber, toNumber, dueDateCalendar.current());
+    }
+
+    private PaymentSchedule paymentSchedule(ScoringDataDTO scoringDataDTO, BigDecimal creditRate, int fromNumber,
+                                            int toNumber, DueDateCalendar.DueDates dueDates) {
+        BigDecimal monthlyPayment = amortize(scoringDataDTO.getAmount(), creditRate, scoringDataDTO.getTerm()).getMonthlyPayment();
+        return buildPaymentSchedule(scoringDataDTO, creditRate, monthlyPayment, fromNumber, toNumber, dueDates);
+    }
+
+    private PaymentSchedule buildPaymentSchedule(ScoringDataDTO scoringDataDTO, BigDecimal creditRate,
+                                                 BigDecimal monthlyPayment, int fromNumber, int toNumber,
+                                                 DueDateCalendar.DueDates dueDates) {
+
+        int lastNumber = Math.min(toNumber, scoringDataDTO.getTerm() * AppConstants.BASE_PERIOD);
+        int rows = Math.max(0, lastNumber - fromNumber + 1);
+
+        int[] dates = new int[rows];
+        long[] totalPayments = new long[rows];
+        long[] interestPayments = new long[rows];
+        long[] debtPayments = new long[rows];
+        long[] remainingDebts = new long[rows];
+
+        runSchedule(scoringDataDTO, creditRate, monthlyPayment, fromNumber, toNumber, dueDates,
+                (number, epochDay, totalPayment, interestPayment, debtPayment, remainingDebt) -> {
+                    int row = number - fromNumber;
+                    dates[row] = epochDay;
+                    totalPayments[row] = totalPayment;
+                    interestPayments[row] = interestPayment;
+                    debtPayments[row] = debtPayment;
+                    remainingDebts[row] = remainingDebt;
+                });
+
+        return new PaymentSchedule(fromNumber, dates, totalPayments, interestPayments, debtPayments, remainingDebts);
+    }
+
+    /**
+     * Runs the schedule in whole cents and hands installments {@code fromNumber} to {@code toNumber}
+     * to the sink one at a time, so a caller that does not keep the rows needs no memory per row.
+     * Rates follow {@link DecimalPolicy} and each installment's interest is rounded half-even to a cent,
+     * so every row has the same fixed scale.
+     */
+    private void runSchedule(ScoringDataDTO scoringDataDTO, BigDecimal creditRate, int fromNumber, int toNumber,
+                             DueDateCalendar.DueDates dueDates, PaymentSchedule.RowSink sink) {
+        BigDecimal monthlyPayment = amortize(scoringDataDTO.getAmount(), creditRate, scoringDataDTO.getTerm()).getMonthlyPayment();
+        runSchedule(scoringDataDTO, creditRate, monthlyPayment, fromNumber, toNumber, dueDates, sink);
+    }
+
+    /**
+     * Amortizes the amount with the credit's monthly payment. A range that starts past the first installment
+     * starts from the closed-form balance instead of running the installments before it; over a long term
+     * that balance can differ by a few cents from the one the full schedule reaches row by row.
+     */
+    private void runSchedule(ScoringDataDTO scoringDataDTO, BigDecimal creditRate, BigDecimal monthlyPayment,
+                             int fromNumber, int toNumber, DueDateCalendar.DueDates dueDates,
+                             PaymentSchedule.RowSink sink) {
+
+        log.debug("Generating installments {} to {} of the payment schedule", fromNumber, toNumber);
+
+        long monthlyPaymentCents = DecimalPolicy.cents(monthlyPayment);
+        long remainingDebt = DecimalPolicy.cents(scoringDataDTO.getAmount());
+        DecimalPolicy.MonthlyRate monthlyRate = DecimalPolicy.monthlyRate(DecimalPolicy.rate(creditRate));
         int numberOfPayments = scoringDataDTO.getTerm() * AppConstants.BASE_PERIOD;
+        int firstNumber = Math.max(1, fromNumber);
+        int lastNumber = Math.min(toNumber, numberOfPayments);
+        int rows = Math.max(0, lastNumber - firstNumber + 1);
+        long start = System.nanoTime();
 
-        List<PaymentScheduleElement> schedule = new ArrayList<>();
+        if(firstNumber > 1 && rows > 0) {
+            remainingDebt = Math.max(0, monthlyRate.balanceCents(remainingDebt, monthlyPaymentCents, firstNumber - 1));
+        }
+        for(int i = firstNumber; i <= lastNumber; i++) {
+            remainingDebt = installment(i, numberOfPayments, remainingDebt, monthlyPaymentCents, monthlyRate, dueDates, sink);
+        }
+
+        conveyorMetrics.recordSchedule(System.nanoTime() - start, rows);
+    }
+
+    /**
+     * Hands installment {@code number} on the given opening debt to the sink and returns the debt left.
+     * The last installment pays off whatever the rounding of the payment and the interest left, so the
+     * balance always closes at zero.
+     */
+    private static long installment(int number, int numberOfPayments, long debt, long monthlyPaymentCents,
+                                     DecimalPolicy.MonthlyRate monthlyRate, DueDateCalendar.DueDates dueDates,
+                                     PaymentSchedule.RowSink sink) {
+        long interestPayment = monthlyRate.interestCents(debt);
+        long totalPayment = monthlyPaymentCents;
+        long debtPayment = totalPayment - interestPayment;
+        if(number == numberOfPayments || debtPayment > debt) {
+            debtPayment = debt;
+            totalPayment = interestPayment + debtPayment;
+        }
+        long remainingDebt = debt - debtPayment;
+        sink.accept(number, (int) dueDates.dueDate(number).toEpochDay(), totalPayment, interestPayment, debtPayment, remainingDebt);
+        return remainingDebt;
+    }
+
+    @Override
+    public List<PaymentScheduleElement> generatePaymentSchedule(ScoringDataDTO scoringDataDTO, int fromNumber, int toNumber) {
+
+        if(fromNumber < 1 || toNumber < fromNumber) {
+            throw new InvalidRequestException("installment range " + fromNumber + " to " + toNumber + " is invalid");
+        }
+
+        DueDateCalendar.DueDates dueDates = dueDateCalendar.current();
+        return paymentSchedule(scoringDataDTO, calcRate(scoringDataDTO, dueDates.today()), fromNumber, toNumber, dueDates);
+    }
+
+    @Override
+    public CreditDTO fillCreditInfo(ScoringDataDTO scoring, ScheduleModeEnum scheduleMode, int offset, int limit) {
+
+        DueDateCalendar.DueDates dueDates = dueDateCalendar.current();
+
+        if(scheduleMode == ScheduleModeEnum.FULL) {
+            return fillCreditInfo(scoring, dueDates);
+        }
 
-        for(int i = 1; i <= numberOfPayments; i++) {
-            BigDecimal interestPayment = remainingDebt.multiply(monthlyInterestRate);
-            BigDecimal debtPayment = totalPayment.subtract(remainingDebt.multiply(monthlyInterestRate));
-            remainingDebt = remainingDebt.subtract(debtPayment);
+        CreditDTO creditDTO = fillCreditSummary(scoring, dueDates.today());
 
-            if(remainingDebt.compareTo(BigDecimal.ZERO) < 0) {
-                remainingDebt = BigDecimal.valueOf(0);
+        if(scheduleMode == ScheduleModeEnum.PAGE) {
+            if(offset < 0 || limit < 0) {
+                throw new InvalidRequestException("schedule offset and limit cannot be negative");
             }
+            List<PaymentScheduleElement> page = Collections.emptyList();
+            if(limit > 0) {
+                int fromNumber = offset + 1;
+                int toNumber = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+                page = paymentSchedule(scoring, creditDTO.getRate(), fromNumber, toNumber, dueDates);
+            }
+            creditDTO.setPaymentSchedule(page);
+        } else if(scheduleMode == ScheduleModeEnum.SUMMARY) {
+            creditDTO.setPaymentSchedule(summarySchedule(scoring, creditDTO.getRate(), creditDTO.getMonthlyPayment(), dueDates));
+        }
 
-            schedule.add(new PaymentScheduleElement(
-                    i,
-                    LocalDate.now().plusMonths(i),
-                    totalPayment,
-                    interestPayment,
-                    debtPayment,
-                    remainingDebt));
+        return creditDTO;
+    }
+
+    /**
+     * First and last installments without running the schedule: the first from the amount, the last
+     * from the closed-form balance after every other payment.
+     */
+    private List<PaymentScheduleElement> summarySchedule(ScoringDataDTO scoring, BigDecimal creditRate,
+                                                         BigDecimal monthlyPayment, DueDateCalendar.DueDates dueDates) {
+
+        long monthlyPaymentCents = DecimalPolicy.cents(monthlyPayment);
+        long amount = DecimalPolicy.cents(scoring.getAmount());
+        DecimalPolicy.MonthlyRate monthlyRate = DecimalPolicy.monthlyRate(DecimalPolicy.rate(creditRate));
+        int numberOfPayments = scoring.getTerm() * AppConstants.BASE_PERIOD;
+
+        List<PaymentScheduleElement> summary = new ArrayList<>(2);
+        PaymentSchedule.RowSink sink = (number, epochDay, totalPayment, interestPayment, debtPayment, remainingDebt) ->
+                summary.add(toElement(number, epochDay, totalPayment, interestPayment, debtPayment, remainingDebt));
+
+        installment(1, numberOfPayments, amount, monthlyPaymentCents, monthlyRate, dueDates, sink);
+        if(numberOfPayments > 1) {
+            long lastDebt = Math.max(0, monthlyRate.balanceCents(amount, monthlyPaymentCents, numberOfPayments - 1));
+            installment(numberOfPayments, numberOfPayments, lastDebt, monthlyPaymentCents, monthlyRate, dueDates, sink);
         }
 
-        return schedule;
+        return summary;
+    }
+
+    /**
+     * Scores the application once and runs every amortization the credit needs,
+     * so that {@link #fillCreditInfo} does not repeat the rate and calculator work.
+     */
+    AmortizationResult calculateCredit(ScoringDataDTO scoring, DueDateCalendar.DueDates dueDates) {
+
+        BigDecimal rate = calcRate(scoring, dueDates.today());
+        AmortizationResult amortization = amortize(scoring.getAmount(), rate, scoring.getTerm());
+
+        return new AmortizationResult(
+                rate,
+                amortization.getMonthlyPayment(),
+                amortization.getPsk(),
+                buildPaymentSchedule(scoring, rate, amortization.getMonthlyPayment(), 1, Integer.MAX_VALUE, dueDates));
+    }
+
+    /**
+     * Runs the amortization engine once and reads both the monthly payment and the psk from it.
+     * Every amount and rate of a credit passes through here, so this is where {@link DecimalPolicy}
+     * fixes their scale: the engine sees the amount to the cent and the rate to the basis point,
+     * and its payment and psk come back to the cent whatever engine is configured.
+     */
+    @Override
+    public AmortizationResult amortize(BigDecimal amount, BigDecimal rate, Integer term) {
+        return amortize(amount, rate, term, null);
+    }
+
+    /**
+     * Payment coefficient of the configured engine, for pricing many amounts at one rate and term.
+     */
+    @Override
+    public BigDecimal paymentCoefficient(BigDecimal rate, Integer term) {
+        return amortizationEngine.paymentCoefficient(DecimalPolicy.rate(rate), term * AppConstants.BASE_PERIOD);
+    }
+
+    /**
+     * {@link #amortize(BigDecimal, BigDecimal, Integer)} with a coefficient from {@link #paymentCoefficient},
+     * so an engine that can reuse it does not raise the power again; a {@code null} coefficient is computed.
+     */
+    @Override
+    public AmortizationResult amortize(BigDecimal amount, BigDecimal rate, Integer term, BigDecimal paymentCoefficient) {
+        BigDecimal creditAmount = DecimalPolicy.money(amount);
+        BigDecimal creditRate = DecimalPolicy.rate(rate);
+        int numberOfPayments = term * AppConstants.BASE_PERIOD;
+        long start = System.nanoTime();
+        AmortizationResult amortization = paymentCoefficient == null
+                ? amortizationEngine.amortize(creditAmount, creditRate, numberOfPayments)
+                : amortizationEngine.amortize(creditAmount, creditRate, numberOfPayments, paymentCoefficient);
+        conveyorMetrics.recordAmortization(System.nanoTime() - start);
+        return new AmortizationResult(
+                creditRate,
+                DecimalPolicy.money(amortization.getMonthlyPayment()),
+                DecimalPolicy.money(amortization.getPsk()),
+                amortization.getPaymentSchedule());
+    }
+
+    private CreditDTO toCreditDTO(ScoringDataDTO scoring, AmortizationResult credit) {
+
+        CreditDTO creditDTO = new CreditDTO();
+        creditDTO.setAmount(scoring.getAmount());
+        creditDTO.setTerm(scoring.getTerm());
+        creditDTO.setMonthlyPayment(credit.getMonthlyPayment());
+        creditDTO.setRate(credit.getRate());
+        creditDTO.setPsk(credit.getPsk());
+        creditDTO.setIsInsuranceEnabled(scoring.getIsInsuranceEnabled());
+        creditDTO.setIsSalaryClient(scoring.getIsSalaryClient());
+
+        return creditDTO;
     }
 
 }
@@ -0,0 +1,87 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.utils.RefusalReasonEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for every conveyor stage, registered once so that the hot path only records
+ * a nanoTime difference into a pre-built timer.
+ */
+@Component
+public class ConveyorMetrics {
+
+    private final Timer scoringTimer;
+    private final Timer amortizationTimer;
+    private final Timer scheduleTimer;
+    private final Timer serializationTimer;
+    private final Timer rulesReloadTimer;
+    private final DistributionSummary scheduleLength;
+    private final Map<RefusalReasonEnum, Counter> refusals = new EnumMap<>(RefusalReasonEnum.class);
+
+    public ConveyorMetrics(MeterRegistry registry) {
+        scoringTimer = stageTimer("scoring", registry);
+        amortizationTimer = stageTimer("amortization", registry);
+        scheduleTimer = stageTimer("schedule", registry);
+        serializationTimer = stageTimer("serialization", registry);
+
+        rulesReloadTimer = Timer.builder("conveyor.scoring.rules.reload")
+                .description("Time to read and compile the scoring rules file")
+                .register(registry);
+
+        scheduleLength = DistributionSummary.builder("conveyor.schedule.length")
+                .description("Installments per generated payment schedule")
+                .baseUnit("installments")
+                .serviceLevelObjectives(12, 36, 60, 120, 240, 360)
+                .register(registry);
+
+        for(RefusalReasonEnum reason : RefusalReasonEnum.values()) {
+            refusals.put(reason, Counter.builder("conveyor.refusals")
+                    .description("Applications refused by scoring")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    public void recordScoring(long nanos) {
+        scoringTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAmortization(long nanos) {
+        amortizationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSchedule(long nanos, int installments) {
+        scheduleTimer.record(nanos, TimeUnit.NANOSECONDS);
+        scheduleLength.record(installments);
+    }
+
+    public void recordSerialization(long nanos) {
+        serializationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRulesReload(long nanos) {
+        rulesReloadTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRefusal(RefusalReasonEnum reason) {
+        if(reason != null) {
+            refusals.get(reason).increment();
+        }
+    }
+
+    private static Timer stageTimer(String stage, MeterRegistry registry) {
+        return Timer.builder("conveyor.stage")
+                .description("Time spent in a conveyor calculation stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
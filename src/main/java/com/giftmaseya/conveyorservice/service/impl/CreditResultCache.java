@@ -0,0 +1,222 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.EmploymentDTO;
+import com.giftmaseya.conveyorservice.dto.PaymentSchedule;
+import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.service.AmortizationResult;
+import com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum;
+import com.giftmaseya.conveyorservice.utils.GenderEnum;
+import com.giftmaseya.conveyorservice.utils.MaritalStatusEnum;
+import com.giftmaseya.conveyorservice.utils.PositionEnum;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of calculated credits with a time-to-live, so retried and re-submitted
+ * calculations skip scoring, amortization and the schedule.
+ *
+ * <p>The key holds only the inputs that change the result: names, passport and account are left out.
+ * Ages and schedule dates depend on the current day and the rates on the loaded rules, so both are
+ * part of the key and yesterday's entries are never served.
+ */
+@Component
+public class CreditResultCache implements MeterBinder {
+
+    // a lock rather than a synchronized map, so a virtual thread waiting for it does not pin its carrier
+    private final Map<Key, Entry> credits;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScoringRules scoringRules;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+
+    @Autowired
+    public CreditResultCache(@Value("${conveyor.calculation.cache-size:1024}") int maxSize,
+                             @Value("${conveyor.calculation.cache-ttl-ms:600000}") long ttlMs,
+                             ScoringRules scoringRules) {
+        this(maxSize, ttlMs, scoringRules, System::nanoTime);
+    }
+
+    CreditResultCache(int maxSize, long ttlMs, ScoringRules scoringRules, LongSupplier ticker) {
+        this.scoringRules = scoringRules;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.ticker = ticker;
+        this.credits = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if(size() > maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached credit for the application on {@code today}, the day the caller scores and dates it on,
+     * or the calculation's result, which is then cached.
+     */
+    public AmortizationResult get(ScoringDataDTO scoring, LocalDate today, Supplier<AmortizationResult> calculation) {
+
+        Key key = Key.of(scoring, today, scoringRules.current());
+        long now = ticker.getAsLong();
+        Entry entry;
+        lock.lock();
+        try {
+            entry = credits.get(key);
+            if(entry != null && now - entry.expiresAt >= 0 && credits.remove(key, entry)) {
+                expiredEvictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if(entry != null && now - entry.expiresAt < 0) {
+            hits.increment();
+            return entry.credit;
+        }
+
+        misses.increment();
+        AmortizationResult calculated = calculation.get();
+        List<PaymentScheduleElement> schedule = calculated.getPaymentSchedule();
+        AmortizationResult credit = new AmortizationResult(
+                calculated.getRate(),
+                calculated.getMonthlyPayment(),
+                calculated.getPsk(),
+                schedule instanceof PaymentSchedule ? schedule : Collections.unmodifiableList(schedule));
+        lock.lock();
+        try {
+            credits.put(key, new Entry(credit, now + ttlNanos));
+        } finally {
+            lock.unlock();
+        }
+        return credit;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getSizeEvictions() {
+        return sizeEvictions.sum();
+    }
+
+    public long getExpiredEvictions() {
+        return expiredEvictions.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return credits.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("conveyor.calculation.cache.requests", this, CreditResultCache::getHits)
+                .description("Calculation result cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("conveyor.calculation.cache.requests", this, CreditResultCache::getMisses)
+                .description("Calculation result cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("conveyor.calculation.cache.evictions", this, CreditResultCache::getSizeEvictions)
+                .description("Calculation results dropped from the cache")
+                .tag("cause", "size")
+                .register(registry);
+        FunctionCounter.builder("conveyor.calculation.cache.evictions", this, CreditResultCache::getExpiredEvictions)
+                .description("Calculation results dropped from the cache")
+                .tag("cause", "expired")
+                .register(registry);
+        Gauge.builder("conveyor.calculation.cache.size", this, CreditResultCache::size)
+                .description("Calculation results currently cached")
+                .register(registry);
+    }
+
+    @AllArgsConstructor
+    private static final class Entry {
+        private final AmortizationResult credit;
+        private final long expiresAt;
+    }
+
+    /**
+     * Copies the scoring inputs, so later changes to the request object cannot alter a cached key.
+     * The rate table is compared by identity: a reload starts a new generation of keys. Amounts are
+     * compared by value, so 100000 and 100000.00 share an entry; trailing zeros are stripped rather than
+     * rounded to the cent, since the salary check sees the amount as sent.
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class Key {
+        private final LocalDate day;
+        private final RateTable rates;
+        private final BigDecimal amount;
+        private final Integer term;
+        private final GenderEnum gender;
+        private final LocalDate birthDate;
+        private final MaritalStatusEnum maritalStatus;
+        private final Integer dependentAmount;
+        private final EmploymentStatusEnum employmentStatus;
+        private final BigDecimal salary;
+        private final PositionEnum position;
+        private final Integer workExperienceTotal;
+        private final Integer workExperienceCurrent;
+        private final Boolean isInsuranceEnabled;
+        private final Boolean isSalaryClient;
+
+        static Key of(ScoringDataDTO scoring, LocalDate day, RateTable rates) {
+            EmploymentDTO employment = scoring.getEmployment();
+            boolean employed = employment != null;
+            BigDecimal salary = employed ? employment.getSalary() : null;
+            BigDecimal amount = scoring.getAmount();
+            return new Key(
+                    day,
+                    rates,
+                    amount == null ? null : amount.stripTrailingZeros(),
+                    scoring.getTerm(),
+                    scoring.getGender(),
+                    scoring.getBirthDate(),
+                    scoring.getMaritalStatus(),
+                    scoring.getDependentAmount(),
+                    employed ? employment.getEmploymentStatus() : null,
+                    salary == null ? null : salary.stripTrailingZeros(),
+                    employed ? employment.getPosition() : null,
+                    employed ? employment.getWorkExperienceTotal() : null,
+                    employed ? employment.getWorkExperienceCurrent() : null,
+                    scoring.getIsInsuranceEnabled(),
+                    scoring.getIsSalaryClient());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Today's date and the next monthly due dates, computed once per day from the {@link Clock}.
+ * A request costs one {@code clock.millis()} compare; the first request after midnight rebuilds the dates.
+ */
+@Component
+public class DueDateCalendar {
+
+    private final Clock clock;
+    private final int cachedMonths;
+    // a lock rather than synchronized, so a virtual thread waiting for it does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile DueDates dueDates;
+
+    public DueDateCalendar(Clock clock, @Value("${conveyor.calculation.cached-due-dates:360}") int cachedMonths) {
+        this.clock = clock;
+        this.cachedMonths = cachedMonths;
+        this.dueDates = DueDates.of(LocalDate.now(clock), clock.getZone(), cachedMonths);
+    }
+
+    /**
+     * Dates of the current day. Each calculation takes one snapshot and hands it to scoring, the result cache
+     * and the schedule, so a credit calculated across midnight is aged, cached and dated on one day.
+     */
+    DueDates current() {
+        DueDates snapshot = dueDates;
+        if(clock.millis() >= snapshot.validUntil) {
+            snapshot = refresh();
+        }
+        return snapshot;
+    }
+
+    private DueDates refresh() {
+        lock.lock();
+        try {
+            if(clock.millis() >= dueDates.validUntil) {
+                dueDates = DueDates.of(LocalDate.now(clock), clock.getZone(), cachedMonths);
+            }
+            return dueDates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static final class DueDates {
+        private final LocalDate today;
+        private final LocalDate[] dates;
+        private final long validUntil;
+
+        private DueDates(LocalDate today, LocalDate[] dates, long validUntil) {
+            this.today = today;
+            this.dates = dates;
+            this.validUntil = validUntil;
+        }
+
+        static DueDates of(LocalDate today, ZoneId zone, int months) {
+            LocalDate[] dates = new LocalDate[months];
+            for(int i = 0; i < months; i++) {
+                dates[i] = today.plusMonths(i + 1);
+            }
+            return new DueDates(today, dates, today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+
+        LocalDate today() {
+            return today;
+        }
+
+        /**
+         * Due date of installment {@code number}, counted from 1, the same as {@code today.plusMonths(number)}.
+         */
+        LocalDate dueDate(int number) {
+            return number <= dates.length ? dates[number - 1] : today.plusMonths(number);
+        }
+    }
+}
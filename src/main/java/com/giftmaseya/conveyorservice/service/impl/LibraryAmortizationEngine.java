@@ -0,0 +1,59 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.service.AmortizationEngine;
+import com.giftmaseya.conveyorservice.service.AmortizationResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import paqua.loan.amortization.api.LoanAmortizationCalculator;
+import paqua.loan.amortization.api.impl.LoanAmortizationCalculatorFactory;
+import paqua.loan.amortization.dto.Loan;
+import paqua.loan.amortization.dto.LoanAmortization;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Collections;
+
+@Service
+@ConditionalOnProperty(name = "conveyor.amortization.engine", havingValue = "library", matchIfMissing = true)
+public class LibraryAmortizationEngine implements AmortizationEngine {
+
+    @Override
+    public AmortizationResult amortize(BigDecimal amount, BigDecimal rate, int numberOfPayments) {
+
+        Loan loan = Loan.builder()
+                .amount(amount)
+                .rate(rate)
+                .term(numberOfPayments)
+                .build();
+
+        LoanAmortizationCalculator calculator = LoanAmortizationCalculatorFactory.create();
+        LoanAmortization amortization = calculator.calculate(loan);
+
+        return new AmortizationResult(
+                rate,
+                amortization.getMonthlyPaymentAmount(),
+                amortization.getOverPaymentAmount().add(amount),
+                Collections.emptyList());
+    }
+
+    /**
+     * The library does not expose its coefficient; it raises the same closed form
+     * {@link AnnuityAmortizationEngine} uses, which reproduces its payments.
+     */
+    @Override
+    public BigDecimal paymentCoefficient(BigDecimal rate, int numberOfPayments) {
+        BigDecimal monthlyRate = AnnuityAmortizationEngine.monthlyRate(rate);
+        return monthlyRate.signum() > 0
+                ? AnnuityAmortizationEngine.annuityCoefficient(monthlyRate, numberOfPayments)
+                : BigDecimal.ONE.divide(BigDecimal.valueOf(numberOfPayments), MathContext.DECIMAL128);
+    }
+
+    /**
+     * The library takes no payment, so it still raises the power itself; its payment
+     * equals the amount times the coefficient.
+     */
+    @Override
+    public AmortizationResult amortize(BigDecimal amount, BigDecimal rate, int numberOfPayments, BigDecimal paymentCoefficient) {
+        return amortize(amount, rate, numberOfPayments);
+    }
+}
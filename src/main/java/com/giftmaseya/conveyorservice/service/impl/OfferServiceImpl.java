@@ -2,25 +2,69 @@ package com.giftmaseya.conveyorservice.service.impl;
 
 import com.giftmaseya.conveyorservice.dto.LoanApplicationRequestDTO;
 import com.giftmaseya.conveyorservice.dto.LoanOfferDTO;
+import com.giftmaseya.conveyorservice.dto.LoanOfferGridRequestDTO;
+import com.giftmaseya.conveyorservice.dto.OfferVariantDTO;
+import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.service.AmortizationResult;
 import com.giftmaseya.conveyorservice.service.CalculationService;
 import com.giftmaseya.conveyorservice.service.OfferService;
-import lombok.RequiredArgsConstructor;
+import com.giftmaseya.conveyorservice.service.impl.OfferTemplateCache.OfferTemplate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OfferServiceImpl implements OfferService {
 
     private final CalculationService calculationService;
+    private final OfferTemplateCache offerTemplateCache;
+
+    /**
+     * Pool for the parallel offers mode, {@code null} when offers are built on the calling thread.
+     */
+    private final ExecutorService offerExecutor;
+    private final long offerTimeoutMillis;
+
+    public OfferServiceImpl(CalculationService calculationService, OfferTemplateCache offerTemplateCache) {
+        this(calculationService, offerTemplateCache, Optional.empty(), 0L);
+    }
+
+    @Autowired
+    public OfferServiceImpl(CalculationService calculationService,
+                            OfferTemplateCache offerTemplateCache,
+                            @Qualifier("offerExecutor") Optional<ExecutorService> offerExecutor,
+                            @Value("${conveyor.offers.parallel.timeout-ms:2000}") long offerTimeoutMillis) {
+        this.calculationService = calculationService;
+        this.offerTemplateCache = offerTemplateCache;
+        this.offerExecutor = offerExecutor.orElse(null);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
 
     @Override
     public List<LoanOfferDTO> loanOffers(LoanApplicationRequestDTO loanApplication) {
 
+        if(offerExecutor != null) {
+            return parallelLoanOffers(loanApplication);
+        }
+
         return List.of(
                 createSingleOffer(false, false, loanApplication),
                 createSingleOffer(false, true, loanApplication),
@@ -35,25 +79,104 @@ public class OfferServiceImpl implements OfferService {
                                           Boolean isSalaryClient,
                                           LoanApplicationRequestDTO request) {
 
-        log.info("Generating a single loan offer");
+        log.debug("Generating a single loan offer");
 
         BigDecimal rate = calculationService.calcRate(isInsuranceEnabled, isSalaryClient);
         BigDecimal requestedAmount = request.getAmount();
         Integer term = request.getTerm();
-        BigDecimal monthlyPayment = calculationService.calcMonthlyPayment(requestedAmount, rate, term);
-        BigDecimal totalAmount = calculationService.calcPsk(requestedAmount, rate, term);
 
-        LoanOfferDTO loanOffer = new LoanOfferDTO();
+        return offerTemplate(requestedAmount, term, rate).toOffer(requestedAmount, term, isInsuranceEnabled, isSalaryClient);
+
+    }
+
+    /**
+     * Prices every (amount, term) variant with the offer rates read once per grid. The engine's payment
+     * coefficient is taken once per rate and term and scaled by each amount, so a cell costs one amortization
+     * without raising the power again. Cells go through the configured engine and share the offer template cache
+     * with {@link #createSingleOffer}, so a grid offer and a single offer of the same loan are the same numbers.
+     * Each variant row lists its offers in the same order as {@link #loanOffers}.
+     */
+    @Override
+    public List<List<LoanOfferDTO>> loanOfferGrid(LoanOfferGridRequestDTO gridRequest) {
+
+        LoanApplicationRequestDTO base = gridRequest.getApplication();
+        List<OfferVariantDTO> variants = gridRequest.getVariants();
+
+        log.debug("Generating a grid of {} loan offer variants", variants.size());
 
-        loanOffer.setRequestedAmount(requestedAmount);
-        loanOffer.setTotalAmount(totalAmount);
-        loanOffer.setTerm(term);
-        loanOffer.setMonthlyPayment(monthlyPayment);
-        loanOffer.setRate(rate);
-        loanOffer.setIsInsuranceEnabled(isInsuranceEnabled);
-        loanOffer.setIsSalaryClient(isSalaryClient);
+        // read once, so a rules reload during the grid cannot mix two rate tables
+        BigDecimal[] offerRates = {
+                calculationService.calcRate(false, false),
+                calculationService.calcRate(false, true),
+                calculationService.calcRate(true, false),
+                calculationService.calcRate(true, true)
+        };
 
-        return loanOffer;
+        Map<Integer, BigDecimal[]> coefficientsByTerm = new HashMap<>();
+        List<List<LoanOfferDTO>> grid = new ArrayList<>(variants.size());
+
+        for(OfferVariantDTO variant : variants) {
+            BigDecimal amount = variant.getAmount() != null ? variant.getAmount() : base.getAmount();
+            Integer term = variant.getTerm() != null ? variant.getTerm() : base.getTerm();
+            BigDecimal[] coefficients = coefficientsByTerm.computeIfAbsent(term, t -> new BigDecimal[offerRates.length]);
+
+            List<LoanOfferDTO> offers = new ArrayList<>(offerRates.length);
+            for(int i = 0; i < offerRates.length; i++) {
+                int rateIndex = i;
+                BigDecimal rate = offerRates[i];
+                OfferTemplate template = offerTemplateCache.get(amount, term, rate, () -> {
+                    if(coefficients[rateIndex] == null) {
+                        coefficients[rateIndex] = calculationService.paymentCoefficient(rate, term);
+                    }
+                    return toTemplate(rate, calculationService.amortize(amount, rate, term, coefficients[rateIndex]));
+                });
+                offers.add(template.toOffer(amount, term, i >= 2, (i & 1) == 1));
+            }
+            grid.add(Collections.unmodifiableList(offers));
+        }
+
+        return Collections.unmodifiableList(grid);
+    }
+
+    /**
+     * A cache miss runs the amortization once and takes both the monthly payment and the psk from it.
+     */
+    private OfferTemplate offerTemplate(BigDecimal amount, Integer term, BigDecimal rate) {
+        return offerTemplateCache.get(amount, term, rate, () -> toTemplate(rate, calculationService.amortize(amount, rate, term)));
+    }
+
+    private static OfferTemplate toTemplate(BigDecimal rate, AmortizationResult amortization) {
+        return new OfferTemplate(rate, amortization.getMonthlyPayment(), amortization.getPsk());
+    }
+
+    private List<LoanOfferDTO> parallelLoanOffers(LoanApplicationRequestDTO loanApplication) {
+
+        List<Callable<LoanOfferDTO>> tasks = List.of(
+                () -> createSingleOffer(false, false, loanApplication),
+                () -> createSingleOffer(false, true, loanApplication),
+                () -> createSingleOffer(true, false, loanApplication),
+                () -> createSingleOffer(true, true, loanApplication)
+        );
 
+        try {
+            List<Future<LoanOfferDTO>> futures = offerExecutor.invokeAll(tasks, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            List<LoanOfferDTO> offers = new ArrayList<>(futures.size());
+            for(Future<LoanOfferDTO> future : futures) {
+                offers.add(future.get());
+            }
+            return Collections.unmodifiableList(offers);
+        } catch (CancellationException e) {
+            // a full pool and a timeout both mean the offers pool is saturated: 503 with Retry-After
+            log.info("loan offers were not calculated within {} ms", offerTimeoutMillis);
+            throw new RejectedExecutionException("loan offers were not calculated in time, retry later");
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ConveyorException(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConveyorException("loan offers calculation was interrupted");
+        }
     }
 }
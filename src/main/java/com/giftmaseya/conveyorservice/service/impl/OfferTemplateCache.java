@@ -0,0 +1,141 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.LoanOfferDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of offer amounts keyed by (amount, term, rate).
+ * The front-end keeps sending the same amount/term pairs, so most offers are a lookup plus a copy.
+ */
+@Component
+public class OfferTemplateCache implements MeterBinder {
+
+    // a lock rather than a synchronized map, so a virtual thread waiting for it does not pin its carrier
+    private final Map<Key, OfferTemplate> templates;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public OfferTemplateCache(@Value("${conveyor.offers.cache-size:1024}") int maxSize) {
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, OfferTemplate> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public OfferTemplate get(BigDecimal amount, Integer term, BigDecimal rate, Supplier<OfferTemplate> calculation) {
+
+        Key key = new Key(amount.stripTrailingZeros(), term, rate.stripTrailingZeros());
+        OfferTemplate template;
+        lock.lock();
+        try {
+            template = templates.get(key);
+        } finally {
+            lock.unlock();
+        }
+
+        if(template != null) {
+            hits.increment();
+            return template;
+        }
+
+        misses.increment();
+        template = calculation.get();
+        lock.lock();
+        try {
+            templates.put(key, template);
+        } finally {
+            lock.unlock();
+        }
+        return template;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return templates.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("conveyor.offers.cache.requests", this, OfferTemplateCache::getHits)
+                .description("Offer template cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("conveyor.offers.cache.requests", this, OfferTemplateCache::getMisses)
+                .description("Offer template cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("conveyor.offers.cache.size", this, OfferTemplateCache::size)
+                .description("Offer templates currently cached")
+                .register(registry);
+    }
+
+    /**
+     * Amount and rate are keyed without trailing zeros, so 100000 and 100000.00 share a template.
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class Key {
+        private final BigDecimal amount;
+        private final Integer term;
+        private final BigDecimal rate;
+    }
+
+    /**
+     * Immutable part of a loan offer that depends only on amount, term and rate.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class OfferTemplate {
+        private final BigDecimal rate;
+        private final BigDecimal monthlyPayment;
+        private final BigDecimal totalAmount;
+
+        public LoanOfferDTO toOffer(BigDecimal requestedAmount,
+                                    Integer term,
+                                    Boolean isInsuranceEnabled,
+                                    Boolean isSalaryClient) {
+
+            LoanOfferDTO loanOffer = new LoanOfferDTO();
+
+            loanOffer.setRequestedAmount(requestedAmount);
+            loanOffer.setTotalAmount(totalAmount);
+            loanOffer.setTerm(term);
+            loanOffer.setMonthlyPayment(monthlyPayment);
+            loanOffer.setRate(rate);
+            loanOffer.setIsInsuranceEnabled(isInsuranceEnabled);
+            loanOffer.setIsSalaryClient(isSalaryClient);
+
+            return loanOffer;
+        }
+    }
+}
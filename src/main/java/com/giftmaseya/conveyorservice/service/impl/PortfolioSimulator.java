@@ -0,0 +1,328 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.giftmaseya.conveyorservice.dto.EmploymentDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.service.CalculationService;
+import com.giftmaseya.conveyorservice.service.ScoringRejection;
+import com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum;
+import com.giftmaseya.conveyorservice.utils.GenderEnum;
+import com.giftmaseya.conveyorservice.utils.InputFormatEnum;
+import com.giftmaseya.conveyorservice.utils.MaritalStatusEnum;
+import com.giftmaseya.conveyorservice.utils.PositionEnum;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Replays historical applications through the rejection stage, the scoring and the amortization
+ * under several rule tables at once, without going through the web layer. Amortization goes through
+ * {@link CalculationService#amortize}, so the simulated psk is normalised and priced by the same engine as the service.
+ * The rejection thresholds are fixed in {@link RejectionStage}; only the rate adjustments vary between scenarios.
+ *
+ * <p>The input is read line by line in chunks. Each chunk is scored by a fork/join task that
+ * splits it down to small slices and merges the partial results, and only a fixed number of chunks
+ * is in flight, so memory stays bounded by the chunk size whatever the file size.
+ */
+public final class PortfolioSimulator {
+
+    static final int CHUNK_SIZE = 4096;
+    private static final int SLICE_SIZE = 256;
+
+    private final List<RateTable> scenarios;
+    private final CalculationService calculationService;
+    private final LocalDate today;
+    private final ForkJoinPool pool;
+    private final AtomicLong malformed = new AtomicLong();
+    // a lock rather than synchronized, so a virtual thread waiting for it does not pin its carrier
+    private final ReentrantLock totalsLock = new ReentrantLock();
+
+    private PortfolioSimulator(List<RateTable> scenarios, CalculationService calculationService,
+                               LocalDate today, ForkJoinPool pool) {
+        this.scenarios = scenarios;
+        this.calculationService = calculationService;
+        this.today = today;
+        this.pool = pool;
+    }
+
+    /**
+     * Compiles one rule table per scenario, failing with {@link IllegalArgumentException} like
+     * {@link ScoringRules} does for an invalid rules file.
+     */
+    public static PortfolioSimulator create(List<Properties> scenarioRules, CalculationService calculationService,
+                                            LocalDate today, ForkJoinPool pool) {
+        List<RateTable> scenarios = new ArrayList<>(scenarioRules.size());
+        for(Properties rules : scenarioRules) {
+            scenarios.add(RateTable.compile(rules));
+        }
+        return new PortfolioSimulator(scenarios, calculationService, today, pool);
+    }
+
+    /**
+     * Lines that could not be read as an application, skipped by every scenario.
+     */
+    public long getMalformed() {
+        return malformed.get();
+    }
+
+    /**
+     * Simulates every application of the input and returns one result per scenario, in the order
+     * the rules were given.
+     */
+    public List<SimulationResult> run(BufferedReader input, InputFormatEnum format) throws IOException {
+
+        LineParser parser = parser(input, format);
+        List<SimulationResult> totals = newResults();
+        Semaphore inFlight = new Semaphore(pool.getParallelism() * 2);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        String[] chunk = new String[CHUNK_SIZE];
+        int size = 0;
+        String line;
+
+        try {
+            while(failure.get() == null && (line = input.readLine()) != null) {
+                if(line.isBlank()) {
+                    continue;
+                }
+                chunk[size++] = line;
+                if(size == CHUNK_SIZE) {
+                    submit(new ChunkTask(parser, chunk, 0, size), totals, inFlight, failure);
+                    chunk = new String[CHUNK_SIZE];
+                    size = 0;
+                }
+            }
+            if(size > 0) {
+                submit(new ChunkTask(parser, chunk, 0, size), totals, inFlight, failure);
+            }
+            inFlight.acquire(pool.getParallelism() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("simulation was interrupted", e);
+        }
+
+        if(failure.get() != null) {
+            throw failure.get();
+        }
+        return totals;
+    }
+
+    private void submit(ChunkTask task, List<SimulationResult> totals, Semaphore inFlight,
+                        AtomicReference<RuntimeException> failure) throws InterruptedException {
+        inFlight.acquire();
+        pool.execute(() -> {
+            try {
+                List<SimulationResult> partial = task.invoke();
+                totalsLock.lock();
+                try {
+                    for(int i = 0; i < totals.size(); i++) {
+                        totals.get(i).merge(partial.get(i));
+                    }
+                } finally {
+                    totalsLock.unlock();
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private List<SimulationResult> newResults() {
+        List<SimulationResult> results = new ArrayList<>(scenarios.size());
+        for(int i = 0; i < scenarios.size(); i++) {
+            results.add(new SimulationResult());
+        }
+        return results;
+    }
+
+    private void simulate(ScoringDataDTO scoring, List<SimulationResult> results) {
+
+        ScoringRejection rejection = RejectionStage.check(scoring, today);
+        if(rejection != null) {
+            for(SimulationResult result : results) {
+                result.addRejected(rejection);
+            }
+            return;
+        }
+
+        int age = RejectionStage.yearsBetween(scoring.getBirthDate(), today);
+
+        for(int i = 0; i < scenarios.size(); i++) {
+            int rate = CalculationServiceImpl.score(scenarios.get(i), scoring, age, null);
+            BigDecimal psk = calculationService.amortize(scoring.getAmount(), RateTable.toRate(rate), scoring.getTerm())
+                    .getPsk();
+            results.get(i).addScored(rate, psk.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+        }
+    }
+
+    /**
+     * Scores lines {@code from} to {@code to} of a chunk, halving the range until it is small enough.
+     */
+    private final class ChunkTask extends RecursiveTask<List<SimulationResult>> {
+
+        private final LineParser parser;
+        private final String[] lines;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(LineParser parser, String[] lines, int from, int to) {
+            this.parser = parser;
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<SimulationResult> compute() {
+
+            if(to - from > SLICE_SIZE) {
+                int middle = (from + to) >>> 1;
+                ChunkTask left = new ChunkTask(parser, lines, from, middle);
+                left.fork();
+                List<SimulationResult> results = new ChunkTask(parser, lines, middle, to).compute();
+                List<SimulationResult> leftResults = left.join();
+                for(int i = 0; i < results.size(); i++) {
+                    results.get(i).merge(leftResults.get(i));
+                }
+                return results;
+            }
+
+            List<SimulationResult> results = newResults();
+            for(int i = from; i < to; i++) {
+                ScoringDataDTO scoring;
+                try {
+                    scoring = parser.parse(lines[i]);
+                } catch (RuntimeException | IOException e) {
+                    scoring = null;
+                }
+                if(scoring == null || !isComplete(scoring)) {
+                    malformed.incrementAndGet();
+                    continue;
+                }
+                simulate(scoring, results);
+            }
+            return results;
+        }
+    }
+
+    private static boolean isComplete(ScoringDataDTO scoring) {
+        EmploymentDTO employment = scoring.getEmployment();
+        return scoring.getAmount() != null && scoring.getTerm() != null && scoring.getDependentAmount() != null
+                && employment != null && employment.getSalary() != null
+                && employment.getWorkExperienceTotal() != null && employment.getWorkExperienceCurrent() != null;
+    }
+
+    /**
+     * NDJSON lines are read as {@link ScoringDataDTO}. A CSV file starts with a header row naming
+     * the flat scoring columns that {@link CsvLineParser} understands.
+     */
+    private static LineParser parser(BufferedReader input, InputFormatEnum format) throws IOException {
+
+        if(format == InputFormatEnum.CSV) {
+            String header = input.readLine();
+            return header == null ? line -> null : new CsvLineParser(header.split(","));
+        }
+
+        ObjectReader reader = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(ScoringDataDTO.class);
+        return reader::readValue;
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+        ScoringDataDTO parse(String line) throws IOException;
+    }
+
+    /**
+     * Reads the columns amount, term, gender, birthDate, maritalStatus, dependentAmount, employmentStatus,
+     * salary, position, workExperienceTotal, workExperienceCurrent, isInsuranceEnabled and isSalaryClient
+     * in any order; other columns are ignored. Values are not quoted.
+     */
+    private static final class CsvLineParser implements LineParser {
+
+        private static final List<String> COLUMNS = Arrays.asList("amount", "term", "gender", "birthDate",
+                "maritalStatus", "dependentAmount", "employmentStatus", "salary", "position",
+                "workExperienceTotal", "workExperienceCurrent", "isInsuranceEnabled", "isSalaryClient");
+
+        private final Map<String, Integer> index = new HashMap<>();
+
+        private CsvLineParser(String[] header) {
+            for(int i = 0; i < header.length; i++) {
+                String column = header[i].trim();
+                if(COLUMNS.contains(column)) {
+                    index.put(column, i);
+                }
+            }
+        }
+
+        @Override
+        public ScoringDataDTO parse(String line) {
+
+            String[] values = line.split(",", -1);
+            ScoringDataDTO scoring = new ScoringDataDTO();
+            EmploymentDTO employment = new EmploymentDTO();
+
+            scoring.setAmount(decimal(value(values, "amount")));
+            scoring.setTerm(integer(value(values, "term")));
+            scoring.setGender(constant(GenderEnum.class, value(values, "gender")));
+            String birthDate = value(values, "birthDate");
+            scoring.setBirthDate(birthDate == null ? null : LocalDate.parse(birthDate));
+            scoring.setMaritalStatus(constant(MaritalStatusEnum.class, value(values, "maritalStatus")));
+            scoring.setDependentAmount(integer(value(values, "dependentAmount")));
+            scoring.setIsInsuranceEnabled(Boolean.valueOf(value(values, "isInsuranceEnabled")));
+            scoring.setIsSalaryClient(Boolean.valueOf(value(values, "isSalaryClient")));
+
+            employment.setEmploymentStatus(constant(EmploymentStatusEnum.class, value(values, "employmentStatus")));
+            employment.setSalary(decimal(value(values, "salary")));
+            employment.setPosition(constant(PositionEnum.class, value(values, "position")));
+            employment.setWorkExperienceTotal(integer(value(values, "workExperienceTotal")));
+            employment.setWorkExperienceCurrent(integer(value(values, "workExperienceCurrent")));
+            scoring.setEmployment(employment);
+
+            return scoring;
+        }
+
+        private String value(String[] values, String column) {
+            Integer i = index.get(column);
+            if(i == null || i >= values.length) {
+                return null;
+            }
+            String value = values[i].trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static BigDecimal decimal(String value) {
+            return value == null ? null : new BigDecimal(value);
+        }
+
+        private static Integer integer(String value) {
+            return value == null ? null : Integer.valueOf(value);
+        }
+
+        private static <E extends Enum<E>> E constant(Class<E> type, String value) {
+            return value == null ? null : Enum.valueOf(type, value);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.utils.DecimalPolicy;
+import com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum;
+import com.giftmaseya.conveyorservice.utils.GenderEnum;
+import com.giftmaseya.conveyorservice.utils.MaritalStatusEnum;
+import com.giftmaseya.conveyorservice.utils.PositionEnum;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Immutable scoring adjustments in basis points, indexed by enum ordinal.
+ * Compiled from the rules file by {@link ScoringRules}. A missing enum value never adjusts the rate.
+ */
+final class RateTable {
+
+    /**
+     * Offer adjustments, indexed as {@code (isInsuranceEnabled ? 2 : 0) + (isSalaryClient ? 1 : 0)},
+     * with the adjustments used before they were configurable as defaults.
+     */
+    private static final String[] OFFER_KEYS = {
+            "offer.none", "offer.salary-client", "offer.insurance", "offer.insurance-and-salary-client"};
+    private static final String[] OFFER_DEFAULTS = {"1.5", "0.5", "0.5", "-1.5"};
+
+    private final int initialRate;
+    private final int dependentRate;
+    private final int[] employmentStatus;
+    private final int[] position;
+    private final int[] maritalStatus;
+    private final int[] genderAge;
+    private final int[] genderMinAge;
+    private final int[] genderMaxAge;
+    private final int[] offerRates;
+
+    private RateTable(Properties rules) {
+        initialRate = basisPoints(required(rules, "initial-rate"));
+        dependentRate = basisPoints(rules.getProperty("dependent-rate", "0"));
+        employmentStatus = table(rules, "employment-status.", EmploymentStatusEnum.values());
+        position = table(rules, "position.", PositionEnum.values());
+        maritalStatus = table(rules, "marital-status.", MaritalStatusEnum.values());
+        genderAge = table(rules, "gender-age.", GenderEnum.values());
+
+        GenderEnum[] genders = GenderEnum.values();
+        genderMinAge = new int[genders.length];
+        genderMaxAge = new int[genders.length];
+        for(GenderEnum gender : genders) {
+            String prefix = "gender-age." + gender.name();
+            genderMinAge[gender.ordinal()] = Integer.parseInt(rules.getProperty(prefix + ".min-age", "0").trim());
+            genderMaxAge[gender.ordinal()] = Integer.parseInt(
+                    rules.getProperty(prefix + ".max-age", String.valueOf(Integer.MAX_VALUE)).trim());
+        }
+
+        offerRates = new int[OFFER_KEYS.length];
+        for(int i = 0; i < OFFER_KEYS.length; i++) {
+            offerRates[i] = initialRate + basisPoints(rules.getProperty(OFFER_KEYS[i], OFFER_DEFAULTS[i]));
+        }
+    }
+
+    /**
+     * Compiles the rules, failing on unknown enum names or rates finer than a basis point.
+     */
+    static RateTable compile(Properties rules) {
+        for(String key : rules.stringPropertyNames()) {
+            validateKey(key);
+        }
+        return new RateTable(rules);
+    }
+
+    int initialRate() {
+        return initialRate;
+    }
+
+    int offerRate(boolean isInsuranceEnabled, boolean isSalaryClient) {
+        return offerRates[(isInsuranceEnabled ? 2 : 0) + (isSalaryClient ? 1 : 0)];
+    }
+
+    int dependentRate() {
+        return dependentRate;
+    }
+
+    int employmentStatus(EmploymentStatusEnum status) {
+        return status == null ? 0 : employmentStatus[status.ordinal()];
+    }
+
+    int position(PositionEnum value) {
+        return value == null ? 0 : position[value.ordinal()];
+    }
+
+    int maritalStatus(MaritalStatusEnum status) {
+        return status == null ? 0 : maritalStatus[status.ordinal()];
+    }
+
+    int genderAge(GenderEnum gender, long age) {
+        if(gender == null) {
+            return 0;
+        }
+        int i = gender.ordinal();
+        return age >= genderMinAge[i] && age <= genderMaxAge[i] ? genderAge[i] : 0;
+    }
+
+    static BigDecimal toRate(int basisPoints) {
+        return BigDecimal.valueOf(basisPoints, DecimalPolicy.RATE_SCALE);
+    }
+
+    private static <E extends Enum<E>> int[] table(Properties rules, String prefix, E[] values) {
+        int[] table = new int[values.length];
+        for(E value : values) {
+            String rate = rules.getProperty(prefix + value.name());
+            if(rate != null) {
+                table[value.ordinal()] = basisPoints(rate);
+            }
+        }
+        return table;
+    }
+
+    private static void validateKey(String key) {
+        if(key.equals("initial-rate") || key.equals("dependent-rate") || Arrays.asList(OFFER_KEYS).contains(key)) {
+            return;
+        }
+        String[] parts = key.split("\\.");
+        if(parts.length == 2 && parts[0].equals("employment-status")) {
+            EmploymentStatusEnum.valueOf(parts[1]);
+        } else if(parts.length == 2 && parts[0].equals("position")) {
+            PositionEnum.valueOf(parts[1]);
+        } else if(parts.length == 2 && parts[0].equals("marital-status")) {
+            MaritalStatusEnum.valueOf(parts[1]);
+        } else if(parts[0].equals("gender-age") && (parts.length == 2
+                || (parts.length == 3 && (parts[2].equals("min-age") || parts[2].equals("max-age"))))) {
+            GenderEnum.valueOf(parts[1]);
+        } else {
+            throw new IllegalArgumentException("unknown scoring rule " + key);
+        }
+    }
+
+    private static String required(Properties rules, String key) {
+        String value = rules.getProperty(key);
+        if(value == null) {
+            throw new IllegalArgumentException("scoring rule " + key + " is missing");
+        }
+        return value;
+    }
+
+    private static int basisPoints(String rate) {
+        return new BigDecimal(rate.trim()).movePointRight(DecimalPolicy.RATE_SCALE).intValueExact();
+    }
+}
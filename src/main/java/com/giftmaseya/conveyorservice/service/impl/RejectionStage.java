@@ -0,0 +1,69 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.EmploymentDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.service.ScoringRejection;
+import com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Refusal checks that run before any rate arithmetic, cheapest first: enum and int comparisons,
+ * then the age from date fields, and last the salary check, the only one that needs a {@code BigDecimal}.
+ */
+final class RejectionStage {
+
+    private static final BigDecimal MAX_SALARY_MULTIPLIER = BigDecimal.valueOf(20);
+
+    private RejectionStage() {
+    }
+
+    /**
+     * Returns the first refusal that applies, or {@code null} when the application can be scored.
+     */
+    static ScoringRejection check(ScoringDataDTO scoring, LocalDate today) {
+
+        EmploymentDTO employment = scoring.getEmployment();
+
+        if(employment.getEmploymentStatus() == EmploymentStatusEnum.UNEMPLOYED) {
+            return ScoringRejection.UNEMPLOYED;
+        }
+        if(employment.getWorkExperienceTotal() < 12) {
+            return ScoringRejection.WORK_EXPERIENCE_TOTAL;
+        }
+        if(employment.getWorkExperienceCurrent() < 3) {
+            return ScoringRejection.WORK_EXPERIENCE_CURRENT;
+        }
+
+        if(scoring.getBirthDate() == null) {
+            return ScoringRejection.BIRTH_DATE_MISSING;
+        }
+        int age = yearsBetween(scoring.getBirthDate(), today);
+        if(age < 18) {
+            return ScoringRejection.UNDER_EIGHTEEN;
+        } else if(age < 20) {
+            return ScoringRejection.UNDER_TWENTY;
+        } else if(age > 60) {
+            return ScoringRejection.OVER_SIXTY;
+        }
+
+        if(employment.getSalary().multiply(MAX_SALARY_MULTIPLIER).compareTo(scoring.getAmount()) < 0) {
+            return ScoringRejection.SALARY;
+        }
+
+        return null;
+    }
+
+    /**
+     * Same result as {@code Period.between(from, to).getYears()} without building a {@code Period}.
+     */
+    static int yearsBetween(LocalDate from, LocalDate to) {
+        int years = to.getYear() - from.getYear();
+        if(to.getMonthValue() < from.getMonthValue()
+                || (to.getMonthValue() == from.getMonthValue() && to.getDayOfMonth() < from.getDayOfMonth())) {
+            years--;
+        }
+        return years;
+    }
+}
@@ -0,0 +1,93 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Properties;
+
+/**
+ * Holds the compiled scoring {@link RateTable}. A changed rules file is compiled off the request
+ * path and swapped in through a volatile reference, so scoring never blocks on a reload and
+ * always reads one complete table.
+ */
+@Slf4j
+@Component
+public class ScoringRules {
+
+    private final Resource location;
+    private final ConveyorMetrics conveyorMetrics;
+    private volatile RateTable rateTable;
+    private volatile long lastModified;
+
+    public ScoringRules(@Value("${conveyor.scoring.rules-location:classpath:scoring-rules.properties}") Resource location,
+                        ConveyorMetrics conveyorMetrics) {
+        this.location = location;
+        this.conveyorMetrics = conveyorMetrics;
+        this.lastModified = lastModified();
+        this.rateTable = load();
+    }
+
+    RateTable current() {
+        return rateTable;
+    }
+
+    /**
+     * Base rate of the loaded rules, before any scoring rule moves it.
+     */
+    public BigDecimal initialRate() {
+        return RateTable.toRate(rateTable.initialRate());
+    }
+
+    /**
+     * Reloads the rules when the file changed since the last load. A file that fails to compile
+     * is reported and the previous table stays in use.
+     */
+    @Scheduled(fixedDelayString = "${conveyor.scoring.rules-reload-interval-ms:10000}")
+    public void reloadIfModified() {
+
+        long modified = lastModified();
+        if(modified == lastModified) {
+            return;
+        }
+
+        try {
+            rateTable = load();
+            lastModified = modified;
+            log.info("scoring rules reloaded from {}", location);
+        } catch (RuntimeException e) {
+            log.warn("scoring rules in {} were not reloaded: {}", location, e.getMessage());
+        }
+    }
+
+    private RateTable load() {
+
+        long start = System.nanoTime();
+        Properties rules = new Properties();
+
+        try (InputStream in = location.getInputStream()) {
+            rules.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read scoring rules from " + location, e);
+        }
+
+        RateTable table = RateTable.compile(rules);
+        conveyorMetrics.recordRulesReload(System.nanoTime() - start);
+
+        return table;
+    }
+
+    private long lastModified() {
+        try {
+            return location.lastModified();
+        } catch (IOException e) {
+            return lastModified;
+        }
+    }
+}
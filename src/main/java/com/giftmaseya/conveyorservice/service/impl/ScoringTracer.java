@@ -0,0 +1,64 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.ScoringTraceDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes one scoring decision record per request to the {@code conveyor.scoring.trace} logger.
+ * That logger is routed through an async appender in logback-spring.xml, so the request thread
+ * only enqueues the event.
+ */
+@Component
+public class ScoringTracer {
+
+    private static final Logger TRACE_LOG = LoggerFactory.getLogger("conveyor.scoring.trace");
+
+    private final Level level;
+
+    public ScoringTracer(@Value("${conveyor.scoring.trace.level:DEBUG}") Level level) {
+        this.level = level;
+    }
+
+    public boolean isEnabled() {
+        switch (level) {
+            case ERROR:
+                return TRACE_LOG.isErrorEnabled();
+            case WARN:
+                return TRACE_LOG.isWarnEnabled();
+            case INFO:
+                return TRACE_LOG.isInfoEnabled();
+            case DEBUG:
+                return TRACE_LOG.isDebugEnabled();
+            default:
+                return TRACE_LOG.isTraceEnabled();
+        }
+    }
+
+    public void emit(ScoringTraceDTO trace) {
+
+        if(trace == null) {
+            return;
+        }
+
+        switch (level) {
+            case ERROR:
+                TRACE_LOG.error("scoring decision {}", trace);
+                break;
+            case WARN:
+                TRACE_LOG.warn("scoring decision {}", trace);
+                break;
+            case INFO:
+                TRACE_LOG.info("scoring decision {}", trace);
+                break;
+            case DEBUG:
+                TRACE_LOG.debug("scoring decision {}", trace);
+                break;
+            default:
+                TRACE_LOG.trace("scoring decision {}", trace);
+        }
+    }
+}
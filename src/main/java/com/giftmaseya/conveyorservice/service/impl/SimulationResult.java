@@ -0,0 +1,85 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.service.ScoringRejection;
+import com.giftmaseya.conveyorservice.utils.RefusalReasonEnum;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Aggregated outcome of one rules scenario over a simulated portfolio. Its size depends only on the
+ * number of distinct rates and refusal reasons, never on the number of applications.
+ */
+public final class SimulationResult {
+
+    private static final RefusalReasonEnum[] REASONS = RefusalReasonEnum.values();
+
+    @Getter
+    private long applications;
+    @Getter
+    private long scored;
+    private long rateSum;
+    private long pskCents;
+    private final Map<Integer, long[]> rates = new TreeMap<>();
+    private final long[] rejections = new long[REASONS.length];
+
+    void addScored(int rate, long psk) {
+        applications++;
+        scored++;
+        rateSum += rate;
+        pskCents += psk;
+        rates.computeIfAbsent(rate, r -> new long[1])[0]++;
+    }
+
+    void addRejected(ScoringRejection rejection) {
+        applications++;
+        rejections[rejection.getRefusalReason().ordinal()]++;
+    }
+
+    void merge(SimulationResult other) {
+        applications += other.applications;
+        scored += other.scored;
+        rateSum += other.rateSum;
+        pskCents += other.pskCents;
+        other.rates.forEach((rate, count) -> rates.computeIfAbsent(rate, r -> new long[1])[0] += count[0]);
+        for(int i = 0; i < rejections.length; i++) {
+            rejections[i] += other.rejections[i];
+        }
+    }
+
+    public long getRejected() {
+        return applications - scored;
+    }
+
+    public BigDecimal getAverageRate() {
+        return scored == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(rateSum, 2)
+                .divide(BigDecimal.valueOf(scored), 4, RoundingMode.HALF_EVEN);
+    }
+
+    public BigDecimal getTotalPsk() {
+        return BigDecimal.valueOf(pskCents, 2);
+    }
+
+    /**
+     * Number of scored applications per rate, lowest rate first.
+     */
+    public SortedMap<BigDecimal, Long> getRateDistribution() {
+        SortedMap<BigDecimal, Long> distribution = new TreeMap<>();
+        rates.forEach((rate, count) -> distribution.put(RateTable.toRate(rate), count[0]));
+        return Collections.unmodifiableSortedMap(distribution);
+    }
+
+    public Map<RefusalReasonEnum, Long> getRejectionsByReason() {
+        Map<RefusalReasonEnum, Long> byReason = new EnumMap<>(RefusalReasonEnum.class);
+        for(RefusalReasonEnum reason : REASONS) {
+            byReason.put(reason, rejections[reason.ordinal()]);
+        }
+        return Collections.unmodifiableMap(byReason);
+    }
+}
@@ -1,14 +1,5 @@
 package com.giftmaseya.conveyorservice.utils;
 
-import java.math.BigDecimal;
-
 public class AppConstants {
-    public static final BigDecimal INITIAL_RATE = new BigDecimal("9.75");
     public static final Integer BASE_PERIOD = 12;
-    public static final BigDecimal SELF_EMPLOYED_RATE = new BigDecimal("1");
-    public static final BigDecimal BUSINESS_OWNER_RATE = new BigDecimal("3");
-    public static final BigDecimal MIDDLE_MAN_RATE = new BigDecimal("2");
-    public static final BigDecimal TOP_MAN_RATE = new BigDecimal("4");
-    public static final BigDecimal MARRIED_RATE = new BigDecimal("3");
-    public static final BigDecimal DIVORCED_RATE = new BigDecimal("1");
 }
@@ -0,0 +1,98 @@
+package com.giftmaseya.conveyorservice.utils;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Scale and rounding of money and rate arithmetic in the calculation service. Money is kept to the cent
+ * and annual rates, in percent, to the basis point, both rounded half-even. Monthly interest is taken
+ * from the annual percent in one step, {@code debt * percent / 1200}, so it is rounded once to the cent
+ * and every value has a fixed width however long the schedule.
+ */
+public final class DecimalPolicy {
+
+    public static final int MONEY_SCALE = 2;
+    public static final int RATE_SCALE = 2;
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+
+    private static final long MONTHLY_PERCENT = 100L * AppConstants.BASE_PERIOD;
+
+    private DecimalPolicy() {
+    }
+
+    public static BigDecimal money(BigDecimal amount) {
+        return amount.setScale(MONEY_SCALE, ROUNDING);
+    }
+
+    public static long cents(BigDecimal amount) {
+        return money(amount).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal rate(BigDecimal annualPercent) {
+        return annualPercent.setScale(RATE_SCALE, ROUNDING);
+    }
+
+    /**
+     * Monthly share of an annual rate given in percent, kept exact as a fraction of two longs.
+     */
+    public static MonthlyRate monthlyRate(BigDecimal annualPercent) {
+        BigDecimal percent = annualPercent.stripTrailingZeros();
+        if(percent.scale() < 0) {
+            percent = percent.setScale(0);
+        }
+        return new MonthlyRate(percent.unscaledValue().longValueExact(),
+                Math.multiplyExact(MONTHLY_PERCENT, BigDecimal.ONE.movePointRight(percent.scale()).longValueExact()));
+    }
+
+    public static final class MonthlyRate {
+
+        private final long numerator;
+        private final long denominator;
+
+        private MonthlyRate(long numerator, long denominator) {
+            this.numerator = numerator;
+            this.denominator = denominator;
+        }
+
+        /**
+         * Interest on the debt for one month, rounded half-even to a cent.
+         */
+        public long interestCents(long debtCents) {
+            long product;
+            try {
+                product = Math.multiplyExact(debtCents, numerator);
+            } catch (ArithmeticException e) {
+                return BigDecimal.valueOf(debtCents).multiply(BigDecimal.valueOf(numerator))
+                        .divide(BigDecimal.valueOf(denominator), 0, ROUNDING).longValueExact();
+            }
+            long quotient = Math.floorDiv(product, denominator);
+            long twiceRemainder = 2 * Math.floorMod(product, denominator);
+            if(twiceRemainder > denominator || (twiceRemainder == denominator && (quotient & 1) != 0)) {
+                quotient++;
+            }
+            return quotient;
+        }
+
+        /**
+         * Debt left after the given number of level payments, from the closed annuity form
+         * {@code debt * g - payment * (g - 1) / monthlyRate} with {@code g = (1 + monthlyRate)^payments},
+         * rounded half-even to a cent. A schedule run row by row rounds each month's interest, so its
+         * balance can drift from this one by a few cents over a long term.
+         */
+        public long balanceCents(long debtCents, long paymentCents, int payments) {
+            if(numerator == 0) {
+                return debtCents - paymentCents * payments;
+            }
+            BigDecimal growth = BigDecimal.valueOf(denominator + numerator)
+                    .divide(BigDecimal.valueOf(denominator), MathContext.DECIMAL128)
+                    .pow(payments, MathContext.DECIMAL128);
+            BigDecimal paid = BigDecimal.valueOf(paymentCents)
+                    .multiply(growth.subtract(BigDecimal.ONE))
+                    .multiply(BigDecimal.valueOf(denominator))
+                    .divide(BigDecimal.valueOf(numerator), MathContext.DECIMAL128);
+            return BigDecimal.valueOf(debtCents).multiply(growth).subtract(paid)
+                    .setScale(0, ROUNDING).longValueExact();
+        }
+    }
+}
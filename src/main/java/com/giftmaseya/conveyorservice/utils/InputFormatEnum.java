@@ -0,0 +1,6 @@
+package com.giftmaseya.conveyorservice.utils;
+
+public enum InputFormatEnum {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,8 @@
+package com.giftmaseya.conveyorservice.utils;
+
+public enum RefusalReasonEnum {
+    UNEMPLOYED,
+    SALARY,
+    AGE,
+    WORK_EXPERIENCE
+}
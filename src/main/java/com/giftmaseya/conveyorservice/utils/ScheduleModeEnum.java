@@ -0,0 +1,8 @@
+package com.giftmaseya.conveyorservice.utils;
+
+public enum ScheduleModeEnum {
+    FULL,
+    NONE,
+    PAGE,
+    SUMMARY
+}
@@ -0,0 +1,39 @@
+package com.giftmaseya.conveyorservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread executors for the {@code virtual} profile. Compiled only by the
+ * {@code virtual-threads} Maven profile, which builds on JDK 21.
+ *
+ * <p>Each request and each offer or batch task gets its own virtual thread, so the pools need no sizing.
+ * The platform-thread {@code offerExecutor} and {@code batchCalculationPool} step aside
+ * while {@code conveyor.threads.virtual} is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "conveyor.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = "offerExecutor", destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "conveyor.offers.parallel.enabled", havingValue = "true")
+    public ExecutorService offerExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("offer-", 0).factory());
+    }
+
+    @Bean(name = "batchCalculationPool", destroyMethod = "shutdown")
+    public ExecutorService batchCalculationPool() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("batch-", 0).factory());
+    }
+
+}
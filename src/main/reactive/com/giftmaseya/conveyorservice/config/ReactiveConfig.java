@@ -0,0 +1,62 @@
+package com.giftmaseya.conveyorservice.config;
+
+import com.giftmaseya.conveyorservice.controller.ConveyorHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebFlux variant of the conveyor API, active with the {@code reactive} profile.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    /**
+     * Runs the reactive stack on Netty. Without it Boot would pick Tomcat, which starter-web keeps on the classpath.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Bounded pool for scoring and amortization, kept off the event loop. When the queue is
+     * full the task is rejected and the handler answers 503 instead of queueing without limit.
+     */
+    @Bean(name = "calculationScheduler", destroyMethod = "dispose")
+    public Scheduler calculationScheduler(@Value("${conveyor.reactive.pool-size:0}") int poolSize,
+                                          @Value("${conveyor.reactive.queue-capacity:256}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return Schedulers.fromExecutorService(new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("calculation-"),
+                new ThreadPoolExecutor.AbortPolicy()), "calculation");
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> conveyorRoutes(ConveyorHandler conveyorHandler) {
+        return RouterFunctions.route()
+                .POST("/conveyor/offers", conveyorHandler::loanOffers)
+                .POST("/conveyor/offers/grid", conveyorHandler::loanOfferGrid)
+                .POST("/conveyor/calculation", conveyorHandler::calculations)
+                .build();
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.giftmaseya.conveyorservice.controller;
+
+import com.giftmaseya.conveyorservice.dto.CreditDTO;
+import com.giftmaseya.conveyorservice.dto.LoanApplicationRequestDTO;
+import com.giftmaseya.conveyorservice.dto.LoanOfferGridRequestDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.exception.ConveyorExceptionHandler;
+import com.giftmaseya.conveyorservice.service.CalculationService;
+import com.giftmaseya.conveyorservice.service.OfferService;
+import com.giftmaseya.conveyorservice.utils.ScheduleModeEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive counterpart of {@link ConveyorController} for offers and calculation.
+ * Request bodies are decoded on the event loop; the calculation itself runs on the bounded calculation scheduler.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ConveyorHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final OfferService offerService;
+    private final CalculationService calculationService;
+    private final Validator validator;
+    private final Scheduler calculationScheduler;
+
+    public Mono<ServerResponse> loanOffers(ServerRequest request) {
+        return request.bodyToMono(LoanApplicationRequestDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .map(this::validate)
+                .flatMap(application -> calculate(() -> offerService.loanOffers(application)))
+                .flatMap(offers -> ServerResponse.ok().bodyValue(offers))
+                .onErrorResume(ConveyorException.class, ConveyorHandler::failed)
+                .onErrorResume(RejectedExecutionException.class, e -> overloaded());
+    }
+
+    public Mono<ServerResponse> loanOfferGrid(ServerRequest request) {
+        return request.bodyToMono(LoanOfferGridRequestDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .map(this::validate)
+                .flatMap(gridRequest -> calculate(() -> offerService.loanOfferGrid(gridRequest)))
+                .flatMap(grid -> ServerResponse.ok().bodyValue(grid))
+                .onErrorResume(ConveyorException.class, ConveyorHandler::failed)
+                .onErrorResume(RejectedExecutionException.class, e -> overloaded());
+    }
+
+    public Mono<ServerResponse> calculations(ServerRequest request) {
+
+        ScheduleModeEnum schedule = request.queryParam("schedule")
+                .map(ConveyorHandler::scheduleMode)
+                .orElse(ScheduleModeEnum.FULL);
+        int offset = intParam(request, "offset", 0);
+        int limit = intParam(request, "limit", 12);
+        boolean trace = request.queryParam("trace").map(Boolean::parseBoolean).orElse(false);
+
+        return request.bodyToMono(ScoringDataDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .flatMap(scoring -> calculate(() -> {
+                    CreditDTO creditDTO = calculationService.fillCreditInfo(scoring, schedule, offset, limit);
+                    if(trace) {
+                        creditDTO.setScoringTrace(calculationService.traceRate(scoring));
+                    }
+                    return creditDTO;
+                }))
+                .flatMap(creditDTO -> ServerResponse.ok().bodyValue(creditDTO))
+                .onErrorResume(ConveyorException.class, ConveyorHandler::failed)
+                .onErrorResume(RejectedExecutionException.class, e -> overloaded());
+    }
+
+    private <T> Mono<T> calculate(Callable<T> calculation) {
+        return Mono.fromCallable(calculation).subscribeOn(calculationScheduler);
+    }
+
+    private static Mono<ServerResponse> failed(ConveyorException e) {
+        return ServerResponse.status(ConveyorExceptionHandler.toStatus(e))
+                .bodyValue(ConveyorExceptionHandler.toError(e));
+    }
+
+    private static Mono<ServerResponse> overloaded() {
+        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+
+    private <T> T validate(T body) {
+        Set<ConstraintViolation<T>> violations = validator.validate(body);
+        if(!violations.isEmpty()) {
+            throw new ServerWebInputException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+        return body;
+    }
+
+    private static ScheduleModeEnum scheduleMode(String value) {
+        try {
+            return ScheduleModeEnum.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new ServerWebInputException("schedule must be one of FULL, NONE, PAGE, SUMMARY");
+        }
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException(name + " must be an integer");
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.giftmaseya.conveyorservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes the OpenAPI document Springfox builds from the controllers to {@code static/api-docs.json}
+ * in the build output, where the fast-startup profile serves it with Springfox turned off.
+ * The output path is set by the build; the inferred server url is dropped, as it is the test's random port.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiDocsGenerationTest {
+
+    private static final String OUTPUT_PROPERTY = "conveyor.api-docs.output";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesApiDocs() throws Exception {
+        ObjectNode apiDocs = (ObjectNode) objectMapper.readTree(restTemplate.getForObject("/v3/api-docs", String.class));
+        apiDocs.remove("servers");
+
+        assertThat(apiDocs.path("paths").has("/conveyor/calculation")).isTrue();
+
+        Path output = Paths.get(System.getProperty(OUTPUT_PROPERTY, "target/classes/static/api-docs.json"));
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), apiDocs);
+    }
+
+}
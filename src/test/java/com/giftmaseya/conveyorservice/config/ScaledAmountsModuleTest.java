@@ -0,0 +1,71 @@
+package com.giftmaseya.conveyorservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.giftmaseya.conveyorservice.dto.LoanOfferDTO;
+import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class ScaledAmountsModuleTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new ScaledAmountsModule());
+
+    @Test
+    void amountsAreScaledLongsAndDatesAreEpochDays() throws Exception {
+        PaymentScheduleElement element = new PaymentScheduleElement(
+                1, LocalDate.of(1970, 1, 11), new BigDecimal("1250.34"), new BigDecimal("0.000049"),
+                new BigDecimal("1250.3400"), BigDecimal.ZERO);
+
+        Map<?, ?> encoded = mapper.readValue(mapper.writeValueAsBytes(element), Map.class);
+
+        assertThat(encoded.get("date")).isEqualTo(10);
+        assertThat(((Number) encoded.get("totalPayment")).longValue()).isEqualTo(12503400L);
+        assertThat(encoded.get("interestPayment")).isEqualTo(0);
+    }
+
+    @Test
+    void scaledLongsDecodeToAmounts() throws Exception {
+        BigDecimal amount = mapper.readValue("150005000", BigDecimal.class);
+        LocalDate date = mapper.readValue("19000", LocalDate.class);
+
+        assertThat(amount).isEqualTo(new BigDecimal("15000.5000"));
+        assertThat(date).isEqualTo(LocalDate.ofEpochDay(19000));
+    }
+
+    @Test
+    void plainDecimalsAreNotReadAsScaledAmounts() {
+        assertThatThrownBy(() -> mapper.readValue("15000.5", BigDecimal.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+
+    @Test
+    void loanOfferRoundTripsThroughCbor() throws Exception {
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).registerModule(new ScaledAmountsModule());
+        LoanOfferDTO offer = new LoanOfferDTO();
+        offer.setApplicationId(7L);
+        offer.setRequestedAmount(new BigDecimal("15000"));
+        offer.setTotalAmount(new BigDecimal("15801.72"));
+        offer.setTerm(1);
+        offer.setMonthlyPayment(new BigDecimal("1316.81"));
+        offer.setRate(new BigDecimal("9.75"));
+        offer.setIsInsuranceEnabled(true);
+        offer.setIsSalaryClient(false);
+
+        LoanOfferDTO decoded = cborMapper.readValue(cborMapper.writeValueAsBytes(offer), LoanOfferDTO.class);
+
+        assertThat(decoded.getRequestedAmount()).isEqualByComparingTo(offer.getRequestedAmount());
+        assertThat(decoded.getTotalAmount()).isEqualByComparingTo(offer.getTotalAmount());
+        assertThat(decoded.getMonthlyPayment()).isEqualByComparingTo(offer.getMonthlyPayment());
+        assertThat(decoded.getRate()).isEqualByComparingTo(offer.getRate());
+        assertThat(decoded.getTerm()).isEqualTo(offer.getTerm());
+        assertThat(decoded.getIsInsuranceEnabled()).isTrue();
+    }
+}
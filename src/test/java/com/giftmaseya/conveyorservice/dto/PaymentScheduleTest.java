@@ -0,0 +1,78 @@
+package com.giftmaseya.conveyorservice.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.giftmaseya.conveyorservice.config.ScaledAmountsModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class PaymentScheduleTest {
+
+    private final PaymentSchedule schedule = new PaymentSchedule(
+            11,
+            new int[] {19509, 19539, 2932896},
+            new long[] {125034, 125034, 125034},
+            new long[] {0, 1, -5},
+            new long[] {125034, 125033, 125039},
+            new long[] {10000000000L, 7, 0});
+
+    @Test
+    void elementsAreMaterializedFromColumns() {
+        PaymentScheduleElement element = schedule.get(1);
+
+        assertThat(schedule.size()).isEqualTo(3);
+        assertThat(element.getNumber()).isEqualTo(12);
+        assertThat(element.getDate()).isEqualTo(LocalDate.ofEpochDay(19539));
+        assertThat(element.getInterestPayment()).isEqualTo(new BigDecimal("0.01"));
+        assertThat(element.getRemainingDebt()).isEqualTo(new BigDecimal("0.07"));
+    }
+
+    @Test
+    void jsonWrittenFromColumnsMatchesElementJson() throws Exception {
+        ObjectMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        assertThat(mapper.writeValueAsString(schedule)).isEqualTo(mapper.writeValueAsString(new ArrayList<>(schedule)));
+    }
+
+    @Test
+    void streamedRowMatchesStoredRow() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        char[] buffer = new char[24];
+        StringWriter fromRow = new StringWriter();
+        StringWriter fromElement = new StringWriter();
+
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(fromRow)) {
+            schedule.writeRow(generator, 2, buffer);
+        }
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(fromElement)) {
+            PaymentSchedule.writeRow(generator, 13, 2932896, 125034, -5, 125039, 0, buffer);
+        }
+
+        assertThat(fromElement.toString()).isEqualTo(fromRow.toString());
+    }
+
+    @Test
+    void customAmountEncodingIsKept() throws Exception {
+        ObjectMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .addModule(new ScaledAmountsModule())
+                .build();
+
+        List<?> encoded = mapper.readValue(mapper.writeValueAsBytes(schedule), List.class);
+
+        assertThat(mapper.writeValueAsString(schedule)).isEqualTo(mapper.writeValueAsString(new ArrayList<>(schedule)));
+        assertThat(encoded.get(0).toString()).contains("totalPayment=12503400");
+    }
+}
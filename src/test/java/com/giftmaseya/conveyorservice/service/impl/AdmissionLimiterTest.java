@@ -0,0 +1,113 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class AdmissionLimiterTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+    private AdmissionLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdmissionLimiter(true, 10, 4, 12, 100, 0.5, 60, ticker::get);
+    }
+
+    @Test
+    void longerSchedulesCostMore() {
+        assertThat(limiter.cost(6)).isEqualTo(1);
+        assertThat(limiter.cost(60)).isEqualTo(2);
+        assertThat(limiter.cost(360)).isEqualTo(7);
+    }
+
+    @Test
+    void workOverTheLimitIsRejectedUntilReleased() {
+        AdmissionLimiter.Permit first = limiter.acquire(7);
+        limiter.acquire(3);
+
+        assertThatThrownBy(() -> limiter.acquire(1)).isInstanceOf(RejectedExecutionException.class);
+        first.close();
+        first.close();
+
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+        limiter.acquire(7);
+        assertThat(limiter.getAdmitted()).isEqualTo(3);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void scheduleRangeCostsNoMoreThanItsTerm() {
+        ScoringDataDTO scoring = new ScoringDataDTO();
+        scoring.setTerm(1);
+
+        assertThat(limiter.cost(scoring, 1_000_000)).isEqualTo(limiter.cost(12));
+        assertThat(limiter.cost(scoring, 6)).isEqualTo(limiter.cost(6));
+    }
+
+    @Test
+    void workCostlierThanTheLimitFillsAnIdleLimiter() {
+        AdmissionLimiter.Permit large = limiter.acquire(12);
+
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+        assertThatThrownBy(() -> limiter.acquire(1)).isInstanceOf(RejectedExecutionException.class);
+        large.close();
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+
+        limiter.acquire(1);
+        assertThatThrownBy(() -> limiter.acquire(12)).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void workCostlierThanTheMaxLimitIsAlwaysRejected() {
+        assertThatThrownBy(() -> limiter.acquire(13)).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void latencyIsJudgedOnTheFullCost() {
+        AdmissionLimiter.Permit large = limiter.acquire(12);
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(1100));
+        large.close();
+
+        assertThat(limiter.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void limitFollowsLatency() {
+        AdmissionLimiter.Permit fast = limiter.acquire(5);
+        limiter.acquire(1);
+        fast.close();
+        assertThat(limiter.getLimit()).isEqualTo(11);
+
+        AdmissionLimiter.Permit slow = limiter.acquire(2);
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(201));
+        slow.close();
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        AdmissionLimiter.Permit slower = limiter.acquire(1);
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(101));
+        slower.close();
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        AdmissionLimiter disabled = new AdmissionLimiter(false, 1, 1, 1, 100, 0.5, 60, ticker::get);
+
+        disabled.acquire(5);
+        disabled.acquire(5);
+
+        assertThat(disabled.getInFlight()).isEqualTo(0);
+        assertThat(disabled.getAdmitted()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,102 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.service.AmortizationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class AnnuityAmortizationEngineTest {
+
+    private AnnuityAmortizationEngine annuityEngine;
+    private LibraryAmortizationEngine libraryEngine;
+
+    @BeforeEach
+    void setUp() {
+        annuityEngine = new AnnuityAmortizationEngine();
+        libraryEngine = new LibraryAmortizationEngine();
+    }
+
+    @Test
+    void amortizeMatchesKnownValues() {
+        AmortizationResult result = annuityEngine.amortize(BigDecimal.valueOf(15000), new BigDecimal("11.25"), 72);
+
+        assertThat(result.getMonthlyPayment()).isEqualTo(new BigDecimal("287.44"));
+        assertThat(result.getPsk()).isEqualTo(new BigDecimal("20695.27"));
+    }
+
+    @Test
+    void amortizeMatchesLibraryOnGeneratedGrid() {
+        BigDecimal[] amounts = {
+                new BigDecimal("10000"), new BigDecimal("15000"), new BigDecimal("33333.33"),
+                new BigDecimal("100000"), new BigDecimal("123456.78"), new BigDecimal("300000"),
+                new BigDecimal("499999.99"), new BigDecimal("1000000"), new BigDecimal("2750000.50"),
+                new BigDecimal("10000000")
+        };
+        int[] years = {1, 2, 3, 5, 6, 7, 10, 12, 15, 20, 25, 30};
+
+        for (BigDecimal amount : amounts) {
+            for (int term : years) {
+                int numberOfPayments = term * 12;
+                for (int basisPoints = 0; basisPoints <= 3000; basisPoints += 25) {
+                    assertSameAmortization(amount, BigDecimal.valueOf(basisPoints, 2), numberOfPayments);
+                }
+                for (int hundredths = 1; hundredths <= 30; hundredths++) {
+                    assertSameAmortization(amount, BigDecimal.valueOf(hundredths, 2), numberOfPayments);
+                }
+            }
+        }
+    }
+
+    @Test
+    void amortizeMatchesLibraryForOddTermsAndAmounts() {
+        for (int numberOfPayments = 1; numberOfPayments <= 400; numberOfPayments += 7) {
+            assertSameAmortization(new BigDecimal("98765.4321"), new BigDecimal("13.37"), numberOfPayments);
+            assertSameAmortization(new BigDecimal("250000000"), new BigDecimal("9.75"), numberOfPayments);
+            assertSameAmortization(new BigDecimal("0.01"), new BigDecimal("4.75"), numberOfPayments);
+        }
+    }
+
+    @Test
+    void amortizeWithCoefficientMatchesAmortize() {
+        BigDecimal[] amounts = {new BigDecimal("0.01"), new BigDecimal("15000"), new BigDecimal("123456.78")};
+        String[] rates = {"0", "0.25", "9.75", "11.25"};
+        for (String rate : rates) {
+            for (int numberOfPayments : new int[] {1, 12, 360}) {
+                BigDecimal coefficient = annuityEngine.paymentCoefficient(new BigDecimal(rate), numberOfPayments);
+                for (BigDecimal amount : amounts) {
+                    AmortizationResult expected = annuityEngine.amortize(amount, new BigDecimal(rate), numberOfPayments);
+                    AmortizationResult actual = annuityEngine.amortize(amount, new BigDecimal(rate), numberOfPayments, coefficient);
+
+                    assertThat(actual.getMonthlyPayment()).isEqualTo(expected.getMonthlyPayment());
+                    assertThat(actual.getPsk()).isEqualTo(expected.getPsk());
+                }
+            }
+        }
+    }
+
+    @Test
+    void cachedTermsStayWithinTheBound() {
+        for (int basisPoints = 1; basisPoints <= AnnuityAmortizationEngine.MAX_CACHED_TERMS + 100; basisPoints++) {
+            annuityEngine.amortize(new BigDecimal("15000"), BigDecimal.valueOf(basisPoints, 2), 12);
+        }
+
+        assertThat(annuityEngine.cachedTerms()).isEqualTo(AnnuityAmortizationEngine.MAX_CACHED_TERMS);
+        assertSameAmortization(new BigDecimal("15000"), new BigDecimal("9.75"), 12);
+    }
+
+    private void assertSameAmortization(BigDecimal amount, BigDecimal rate, int numberOfPayments) {
+        AmortizationResult expected = libraryEngine.amortize(amount, rate, numberOfPayments);
+        AmortizationResult actual = annuityEngine.amortize(amount, rate, numberOfPayments);
+
+        assertThat(actual.getMonthlyPayment())
+                .as("monthly payment for %s at %s over %s", amount, rate, numberOfPayments)
+                .isEqualTo(expected.getMonthlyPayment());
+        assertThat(actual.getPsk())
+                .as("psk for %s at %s over %s", amount, rate, numberOfPayments)
+                .isEqualTo(expected.getPsk());
+    }
+
+}
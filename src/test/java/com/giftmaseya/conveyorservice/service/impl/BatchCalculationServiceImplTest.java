@@ -0,0 +1,119 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.CreditDTO;
+import com.giftmaseya.conveyorservice.dto.CreditResultDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.exception.InvalidRequestException;
+import com.giftmaseya.conveyorservice.service.BatchCalculationService;
+import com.giftmaseya.conveyorservice.service.CalculationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchCalculationServiceImplTest {
+
+    @Mock
+    private CalculationService calculationService;
+    private ForkJoinPool pool;
+    private BatchCalculationService batchCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        batchCalculationService = new BatchCalculationServiceImpl(calculationService, pool, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void refusalIsReportedPerItem() {
+        when(calculationService.fillCreditInfo(any())).thenAnswer(invocation -> {
+            ScoringDataDTO scoring = invocation.getArgument(0);
+            if(scoring.getTerm() == 2) {
+                throw new ConveyorException("Unemployed individual does not qualify for a loan");
+            }
+            CreditDTO credit = new CreditDTO();
+            credit.setTerm(scoring.getTerm());
+            return credit;
+        });
+
+        List<ScoringDataDTO> scorings = new ArrayList<>();
+        for(int term = 1; term <= 5; term++) {
+            scorings.add(scoring(term));
+        }
+
+        List<CreditResultDTO> results = batchCalculationService.fillCreditInfo(scorings);
+
+        assertEquals(5, results.size());
+        assertEquals("Unemployed individual does not qualify for a loan", results.get(1).getError());
+        assertNull(results.get(1).getCredit());
+        for(int i : new int[] {0, 2, 3, 4}) {
+            assertNull(results.get(i).getError());
+            assertEquals(i + 1, results.get(i).getCredit().getTerm());
+        }
+    }
+
+    @Test
+    void unexpectedFailureIsReportedPerItem() {
+        when(calculationService.fillCreditInfo(any())).thenAnswer(invocation -> {
+            ScoringDataDTO scoring = invocation.getArgument(0);
+            if(scoring == null) {
+                throw new NullPointerException();
+            }
+            if(scoring.getTerm() == 3) {
+                throw new ArithmeticException("Division by zero");
+            }
+            return new CreditDTO();
+        });
+
+        List<ScoringDataDTO> scorings = new ArrayList<>();
+        scorings.add(scoring(1));
+        scorings.add(null);
+        scorings.add(scoring(3));
+
+        List<CreditResultDTO> results = batchCalculationService.fillCreditInfo(scorings);
+
+        assertEquals(3, results.size());
+        assertNull(results.get(0).getError());
+        assertEquals("application could not be calculated", results.get(1).getError());
+        assertNull(results.get(1).getCredit());
+        assertEquals("application could not be calculated", results.get(2).getError());
+    }
+
+    @Test
+    void throwExceptionIfBatchTooLarge() {
+        List<ScoringDataDTO> scorings = new ArrayList<>();
+        for(int term = 1; term <= 11; term++) {
+            scorings.add(scoring(term));
+        }
+
+        assertThrows(InvalidRequestException.class, () -> batchCalculationService.fillCreditInfo(scorings));
+    }
+
+    private ScoringDataDTO scoring(int term) {
+        ScoringDataDTO scoring = new ScoringDataDTO();
+        scoring.setAmount(BigDecimal.valueOf(15000));
+        scoring.setTerm(term);
+        return scoring;
+    }
+
+}
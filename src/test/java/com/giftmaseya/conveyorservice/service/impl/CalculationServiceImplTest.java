@@ -1,32 +1,71 @@
 package com.giftmaseya.conveyorservice.service.impl;
 
+import com.giftmaseya.conveyorservice.dto.CreditDTO;
 import com.giftmaseya.conveyorservice.dto.EmploymentDTO;
+import com.giftmaseya.conveyorservice.dto.PaymentScheduleElement;
 import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringRuleDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringTraceDTO;
 import com.giftmaseya.conveyorservice.exception.ConveyorException;
+import com.giftmaseya.conveyorservice.exception.InvalidRequestException;
+import com.giftmaseya.conveyorservice.service.ScoringRejection;
+import com.giftmaseya.conveyorservice.utils.AppConstants;
 import com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum;
 import com.giftmaseya.conveyorservice.utils.GenderEnum;
 import com.giftmaseya.conveyorservice.utils.MaritalStatusEnum;
 import com.giftmaseya.conveyorservice.utils.PositionEnum;
+import com.giftmaseya.conveyorservice.utils.ScheduleModeEnum;
+import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.event.Level;
+import org.springframework.core.io.ClassPathResource;
+import paqua.loan.amortization.api.impl.LoanAmortizationCalculatorFactory;
+import paqua.loan.amortization.dto.Loan;
+import paqua.loan.amortization.dto.LoanAmortization;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.math.RoundingMode;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum.BUSINESS_OWNER;
 import static com.giftmaseya.conveyorservice.utils.PositionEnum.MIDDLE_MANAGER;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+import static org.assertj.core.api.AssertionsForClassTypes.within;
 
 class CalculationServiceImplTest {
 
+    private static final Offset<BigDecimal> CENT_DRIFT = within(new BigDecimal("0.05"));
+    private static final Offset<BigDecimal> LONG_TERM_DRIFT = within(new BigDecimal("1.00"));
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2023-06-01T10:00:00Z"), ZoneOffset.UTC);
+
     private CalculationServiceImpl calculationService;
+    private SimpleMeterRegistry meterRegistry;
     private ScoringDataDTO scoringDataDTO;
     private EmploymentDTO employmentDTO;
 
     @BeforeEach
     void setUp() {
-        calculationService = new CalculationServiceImpl();
+        meterRegistry = new SimpleMeterRegistry();
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(meterRegistry);
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        DueDateCalendar dueDateCalendar = new DueDateCalendar(CLOCK, 360);
+        calculationService = new CalculationServiceImpl(
+                new LibraryAmortizationEngine(),
+                new ScoringTracer(Level.DEBUG),
+                conveyorMetrics,
+                scoringRules,
+                new CreditResultCache(1024, 600000, scoringRules),
+                dueDateCalendar);
         employmentDTO = new EmploymentDTO(
                 BUSINESS_OWNER,
                 "458256",
@@ -108,6 +147,39 @@ class CalculationServiceImplTest {
         assertThat(calculationService.calcRate(scoringDataDTO)).isEqualTo(expectedRate);
     }
 
+    @Test
+    void calcRateIgnoresMissingEnumValues() {
+        employmentDTO.setEmploymentStatus(null);
+        employmentDTO.setPosition(null);
+        scoringDataDTO.setMaritalStatus(null);
+        scoringDataDTO.setGender(null);
+        BigDecimal expectedRate = new BigDecimal("9.75");
+        assertThat(calculationService.calcRate(scoringDataDTO)).isEqualTo(expectedRate);
+    }
+
+    @Test
+    void traceRateRecordsRulesThatMovedTheRate() {
+        ScoringTraceDTO trace = calculationService.traceRate(scoringDataDTO);
+
+        assertThat(trace.getInitialRate()).isEqualTo(new BigDecimal("9.75"));
+        assertThat(trace.getRules()).isEqualTo(List.of(
+                new ScoringRuleDTO("employmentStatus", "BUSINESS_OWNER", new BigDecimal("3.00")),
+                new ScoringRuleDTO("position", "MIDDLE_MANAGER", new BigDecimal("-2.00")),
+                new ScoringRuleDTO("maritalStatus", "MARRIED", new BigDecimal("-3.00"))));
+        assertThat(trace.getRate()).isEqualTo(new BigDecimal("7.75"));
+        assertThat(trace.getRefusal()).isNull();
+    }
+
+    @Test
+    void traceRateRecordsRefusal() {
+        employmentDTO.setWorkExperienceTotal(10);
+
+        ScoringTraceDTO trace = calculationService.traceRate(scoringDataDTO);
+
+        assertThat(trace.getRate()).isNull();
+        assertThat(trace.getRefusal()).isEqualTo("refusal: total work experience not enough, less than 12 months");
+    }
+
     @Test
     void throwExceptionIfUnemployed() {
         employmentDTO.setEmploymentStatus(EmploymentStatusEnum.UNEMPLOYED);
@@ -116,6 +188,36 @@ class CalculationServiceImplTest {
                 .hasMessageContaining("Unemployed individual does not qualify for a loan");
     }
 
+    @Test
+    void refusalIsCountedByReason() {
+        employmentDTO.setEmploymentStatus(EmploymentStatusEnum.UNEMPLOYED);
+        assertThatThrownBy(() -> calculationService.calcRate(scoringDataDTO))
+                .isInstanceOf(ConveyorException.class);
+
+        assertThat(meterRegistry.get("conveyor.refusals").tag("reason", "unemployed").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("conveyor.refusals").tag("reason", "age").counter().count()).isEqualTo(0.0);
+    }
+
+    @Test
+    void rejectionChecksWorkExperienceBeforeSalary() {
+        employmentDTO.setWorkExperienceCurrent(2);
+        scoringDataDTO.setAmount(BigDecimal.valueOf(500001));
+
+        assertThat(catchThrowable(() -> calculationService.calcRate(scoringDataDTO)))
+                .isSameAs(ScoringRejection.WORK_EXPERIENCE_CURRENT.toException());
+    }
+
+    @Test
+    void refusalIsThrownAsSharedStacklessException() {
+        employmentDTO.setEmploymentStatus(EmploymentStatusEnum.UNEMPLOYED);
+
+        Throwable first = catchThrowable(() -> calculationService.calcRate(scoringDataDTO));
+        Throwable second = catchThrowable(() -> calculationService.calcRate(scoringDataDTO));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getStackTrace()).isEmpty();
+    }
+
     @Test
     void throwExceptionIfAgeLessThanTwenty() {
         scoringDataDTO.setBirthDate(LocalDate.of(2004, 4, 5));
@@ -207,4 +309,166 @@ class CalculationServiceImplTest {
         assertThat(calculationService.calcMonthlyPayment(amount, rate, term)).isEqualTo(monthlyPayment);
     }
 
-}
\ No newline at end of file
+    @Test
+    void fillCreditInfoMatchesSeparateCalculatorRuns() {
+        BigDecimal amount = scoringDataDTO.getAmount();
+        Integer term = scoringDataDTO.getTerm();
+        BigDecimal rate = new BigDecimal("7.75");
+        LoanAmortization creditAmortization = legacyAmortization(amount, rate, term);
+
+        CreditDTO credit = calculationService.fillCreditInfo(scoringDataDTO);
+
+        assertThat(credit.getRate()).isEqualTo(rate);
+        assertThat(credit.getMonthlyPayment()).isEqualTo(creditAmortization.getMonthlyPaymentAmount());
+        assertThat(credit.getPsk()).isEqualTo(creditAmortization.getOverPaymentAmount().add(amount));
+        assertThat(credit.getPaymentSchedule().size()).isEqualTo(term * AppConstants.BASE_PERIOD);
+        assertThat(credit.getPaymentSchedule().get(0).getTotalPayment()).isEqualTo(credit.getMonthlyPayment());
+    }
+
+    @Test
+    void paymentScheduleAmortizesTheAmount() {
+        for (int term : new int[] {1, 6, 30}) {
+            scoringDataDTO.setTerm(term);
+
+            List<PaymentScheduleElement> schedule = calculationService.fillCreditInfo(scoringDataDTO).getPaymentSchedule();
+
+            BigDecimal previousDebt = scoringDataDTO.getAmount();
+            BigDecimal repaid = BigDecimal.ZERO;
+            for (PaymentScheduleElement element : schedule) {
+                assertThat(element.getDebtPayment().signum()).isEqualTo(1);
+                assertThat(element.getInterestPayment().add(element.getDebtPayment())).isEqualTo(element.getTotalPayment());
+                assertThat(element.getRemainingDebt()).isLessThan(previousDebt);
+                assertThat(element.getRemainingDebt()).isEqualTo(previousDebt.subtract(element.getDebtPayment()));
+                previousDebt = element.getRemainingDebt();
+                repaid = repaid.add(element.getDebtPayment());
+            }
+
+            assertThat(previousDebt.signum()).isZero();
+            assertThat(repaid.compareTo(scoringDataDTO.getAmount())).isZero();
+        }
+    }
+
+    @Test
+    void streamedPaymentScheduleMatchesFilledCredit() {
+        CreditDTO credit = calculationService.fillCreditInfo(scoringDataDTO);
+        CreditDTO summary = calculationService.fillCreditSummary(scoringDataDTO);
+        List<PaymentScheduleElement> streamed = new ArrayList<>();
+
+        calculationService.generatePaymentSchedule(scoringDataDTO, summary.getRate(), streamed::add);
+
+        assertThat(summary.getPaymentSchedule()).isNull();
+        assertThat(summary.getMonthlyPayment()).isEqualTo(credit.getMonthlyPayment());
+        assertThat(summary.getPsk()).isEqualTo(credit.getPsk());
+        assertThat(streamed).isEqualTo(credit.getPaymentSchedule());
+    }
+
+    @Test
+    void pagedPaymentScheduleFollowsFullSchedule() {
+        List<PaymentScheduleElement> full = calculationService.fillCreditInfo(scoringDataDTO).getPaymentSchedule();
+
+        List<PaymentScheduleElement> page = calculationService.fillCreditInfo(scoringDataDTO, ScheduleModeEnum.PAGE, 10, 5)
+                .getPaymentSchedule();
+
+        assertThat(page.size()).isEqualTo(5);
+        for(int i = 0; i < page.size(); i++) {
+            assertSameInstallment(page.get(i), full.get(10 + i), CENT_DRIFT);
+        }
+        assertThat(calculationService.generatePaymentSchedule(scoringDataDTO, 11, 15)).isEqualTo(page);
+    }
+
+    @Test
+    void lastPageOfLongScheduleClosesTheBalance() {
+        scoringDataDTO.setTerm(30);
+        List<PaymentScheduleElement> full = calculationService.fillCreditInfo(scoringDataDTO).getPaymentSchedule();
+
+        List<PaymentScheduleElement> page = calculationService.fillCreditInfo(scoringDataDTO, ScheduleModeEnum.PAGE, 350, 20)
+                .getPaymentSchedule();
+
+        assertThat(page.size()).isEqualTo(10);
+        for(int i = 0; i < page.size(); i++) {
+            assertSameInstallment(page.get(i), full.get(350 + i), LONG_TERM_DRIFT);
+        }
+        assertThat(page.get(9).getRemainingDebt().signum()).isZero();
+    }
+
+    @Test
+    void summaryPaymentScheduleHasFirstAndLastInstallment() {
+        List<PaymentScheduleElement> full = calculationService.fillCreditInfo(scoringDataDTO).getPaymentSchedule();
+
+        CreditDTO summary = calculationService.fillCreditInfo(scoringDataDTO, ScheduleModeEnum.SUMMARY, 0, 0);
+        CreditDTO withoutSchedule = calculationService.fillCreditInfo(scoringDataDTO, ScheduleModeEnum.NONE, 0, 0);
+
+        assertThat(summary.getPaymentSchedule().size()).isEqualTo(2);
+        assertThat(summary.getPaymentSchedule().get(0)).isEqualTo(full.get(0));
+        assertSameInstallment(summary.getPaymentSchedule().get(1), full.get(full.size() - 1), CENT_DRIFT);
+        assertThat(summary.getPaymentSchedule().get(1).getRemainingDebt().signum()).isZero();
+        assertThat(withoutSchedule.getPaymentSchedule()).isNull();
+    }
+
+    @Test
+    void longPaymentScheduleKeepsCentScale() {
+        scoringDataDTO.setTerm(30);
+
+        List<PaymentScheduleElement> schedule = calculationService.generatePaymentSchedule(
+                scoringDataDTO, new BigDecimal("9.75"), 1, Integer.MAX_VALUE);
+
+        assertThat(schedule.size()).isEqualTo(360);
+        for (PaymentScheduleElement element : schedule) {
+            assertThat(element.getTotalPayment().scale()).isEqualTo(2);
+            assertThat(element.getInterestPayment().scale()).isEqualTo(2);
+            assertThat(element.getDebtPayment().scale()).isEqualTo(2);
+            assertThat(element.getRemainingDebt().scale()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void scheduleInterestUsesUnroundedMonthlyRate() {
+        BigDecimal rate = new BigDecimal("4.75");
+
+        PaymentScheduleElement first = calculationService.generatePaymentSchedule(scoringDataDTO, rate, 1, 1).get(0);
+        BigDecimal openingDebt = first.getRemainingDebt().add(first.getDebtPayment());
+        BigDecimal expectedInterest = openingDebt.multiply(rate)
+                .divide(BigDecimal.valueOf(1200), 2, RoundingMode.HALF_EVEN);
+
+        assertThat(first.getInterestPayment()).isEqualTo(expectedInterest);
+        assertThat(first.getInterestPayment().signum()).isEqualTo(1);
+    }
+
+    @Test
+    void throwExceptionIfInstallmentRangeInvalid() {
+        assertThatThrownBy(() -> calculationService.generatePaymentSchedule(scoringDataDTO, 5, 4))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("installment range 5 to 4 is invalid");
+    }
+
+    @Test
+    void throwExceptionIfSchedulePageNegative() {
+        assertThatThrownBy(() -> calculationService.fillCreditInfo(scoringDataDTO, ScheduleModeEnum.PAGE, -1, 5))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    /**
+     * Rows after the first start from the closed-form balance, which drifts from the full schedule
+     * by up to a few cents a year of term.
+     */
+    private static void assertSameInstallment(PaymentScheduleElement actual, PaymentScheduleElement expected,
+                                              Offset<BigDecimal> drift) {
+        assertThat(actual.getNumber()).isEqualTo(expected.getNumber());
+        assertThat(actual.getDate()).isEqualTo(expected.getDate());
+        assertThat(actual.getTotalPayment()).isCloseTo(expected.getTotalPayment(), drift);
+        assertThat(actual.getInterestPayment()).isCloseTo(expected.getInterestPayment(), drift);
+        assertThat(actual.getDebtPayment()).isCloseTo(expected.getDebtPayment(), drift);
+        assertThat(actual.getRemainingDebt()).isCloseTo(expected.getRemainingDebt(), drift);
+        assertThat(actual.getInterestPayment().add(actual.getDebtPayment())).isEqualTo(actual.getTotalPayment());
+    }
+
+    private LoanAmortization legacyAmortization(BigDecimal amount, BigDecimal rate, Integer term) {
+        Loan loan = Loan.builder()
+                .amount(amount)
+                .rate(rate)
+                .term(term * AppConstants.BASE_PERIOD)
+                .build();
+        return LoanAmortizationCalculatorFactory.create().calculate(loan);
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.dto.EmploymentDTO;
+import com.giftmaseya.conveyorservice.dto.ScoringDataDTO;
+import com.giftmaseya.conveyorservice.service.AmortizationResult;
+import com.giftmaseya.conveyorservice.utils.EmploymentStatusEnum;
+import com.giftmaseya.conveyorservice.utils.GenderEnum;
+import com.giftmaseya.conveyorservice.utils.MaritalStatusEnum;
+import com.giftmaseya.conveyorservice.utils.PositionEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class CreditResultCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger calculations = new AtomicInteger();
+    private CreditResultCache cache;
+    private Supplier<AmortizationResult> calculation;
+
+    @BeforeEach
+    void setUp() {
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        cache = new CreditResultCache(2, 1000, scoringRules, ticker::get);
+        calculation = () -> {
+            calculations.incrementAndGet();
+            return new AmortizationResult(BigDecimal.TEN, BigDecimal.ONE, BigDecimal.ONE, new ArrayList<>());
+        };
+    }
+
+    @Test
+    void identicalScoringIsServedFromCache() {
+        ScoringDataDTO resubmitted = scoring(15000);
+        resubmitted.setFirstName("Other");
+        resubmitted.setAccount("0000000000");
+        resubmitted.getEmployment().setSalary(new BigDecimal("25000.00"));
+
+        AmortizationResult first = cache.get(scoring(15000), TODAY, calculation);
+        AmortizationResult second = cache.get(resubmitted, TODAY, calculation);
+
+        assertThat(second).isSameAs(first);
+        assertThat(calculations.get()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void amountIsComparedByValue() {
+        ScoringDataDTO withCents = scoring(100000);
+        withCents.setAmount(new BigDecimal("100000.00"));
+        ScoringDataDTO withFraction = scoring(100000);
+        withFraction.setAmount(new BigDecimal("100000.001"));
+
+        AmortizationResult first = cache.get(scoring(100000), TODAY, calculation);
+
+        assertThat(cache.get(withCents, TODAY, calculation)).isSameAs(first);
+        cache.get(withFraction, TODAY, calculation);
+        assertThat(calculations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void changedScoringInputIsCalculatedAgain() {
+        ScoringDataDTO scoring = scoring(15000);
+        cache.get(scoring, TODAY, calculation);
+
+        scoring.getEmployment().setPosition(PositionEnum.TOP_MANAGER);
+        cache.get(scoring, TODAY, calculation);
+
+        assertThat(calculations.get()).isEqualTo(2);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void nextDayIsCalculatedAgain() {
+        cache.get(scoring(15000), TODAY, calculation);
+        cache.get(scoring(15000), TODAY.plusDays(1), calculation);
+
+        assertThat(calculations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredEntryIsCalculatedAgain() {
+        cache.get(scoring(15000), TODAY, calculation);
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        cache.get(scoring(15000), TODAY, calculation);
+
+        assertThat(calculations.get()).isEqualTo(2);
+        assertThat(cache.getExpiredEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedOverSize() {
+        cache.get(scoring(10000), TODAY, calculation);
+        cache.get(scoring(20000), TODAY, calculation);
+        cache.get(scoring(10000), TODAY, calculation);
+        cache.get(scoring(30000), TODAY, calculation);
+        cache.get(scoring(10000), TODAY, calculation);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getSizeEvictions()).isEqualTo(1);
+        assertThat(calculations.get()).isEqualTo(3);
+    }
+
+    private ScoringDataDTO scoring(int amount) {
+        EmploymentDTO employment = new EmploymentDTO(
+                EmploymentStatusEnum.BUSINESS_OWNER, "458256", BigDecimal.valueOf(25000), PositionEnum.MIDDLE_MANAGER, 13, 4);
+        return new ScoringDataDTO(
+                BigDecimal.valueOf(amount), 6, "Gift", "Masenya", "Senyaman", GenderEnum.MALE,
+                LocalDate.of(1990, 4, 15), "4444", "666666", LocalDate.of(2010, 10, 10), "HomeAffairs",
+                MaritalStatusEnum.MARRIED, 1, employment, "5698523641", true, false);
+    }
+}
@@ -0,0 +1,67 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class DueDateCalendarTest {
+
+    @Test
+    void dueDatesMatchPlusMonthsAndAreReused() {
+        DueDateCalendar calendar = new DueDateCalendar(clockAt("2024-01-31T12:00:00Z"), 24);
+        DueDateCalendar.DueDates dueDates = calendar.current();
+
+        assertThat(dueDates.today()).isEqualTo(LocalDate.of(2024, 1, 31));
+        assertThat(dueDates.dueDate(1)).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(dueDates.dueDate(24)).isEqualTo(LocalDate.of(2026, 1, 31));
+        assertThat(dueDates.dueDate(25)).isEqualTo(LocalDate.of(2026, 2, 28));
+        assertThat(calendar.current().dueDate(12)).isSameAs(dueDates.dueDate(12));
+    }
+
+    @Test
+    void dueDatesAreRebuiltAfterMidnight() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-03-10T23:59:59Z"));
+        DueDateCalendar calendar = new DueDateCalendar(clock, 12);
+        DueDateCalendar.DueDates before = calendar.current();
+
+        clock.instant = Instant.parse("2024-03-11T00:00:00Z");
+        DueDateCalendar.DueDates after = calendar.current();
+
+        assertThat(before.today()).isEqualTo(LocalDate.of(2024, 3, 10));
+        assertThat(after.today()).isEqualTo(LocalDate.of(2024, 3, 11));
+        assertThat(after.dueDate(1)).isEqualTo(LocalDate.of(2024, 4, 11));
+    }
+
+    private static Clock clockAt(String instant) {
+        return Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
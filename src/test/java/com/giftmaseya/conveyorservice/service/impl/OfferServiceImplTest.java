@@ -2,6 +2,9 @@ package com.giftmaseya.conveyorservice.service.impl;
 
 import com.giftmaseya.conveyorservice.dto.LoanApplicationRequestDTO;
 import com.giftmaseya.conveyorservice.dto.LoanOfferDTO;
+import com.giftmaseya.conveyorservice.dto.LoanOfferGridRequestDTO;
+import com.giftmaseya.conveyorservice.dto.OfferVariantDTO;
+import com.giftmaseya.conveyorservice.service.AmortizationResult;
 import com.giftmaseya.conveyorservice.service.CalculationService;
 import com.giftmaseya.conveyorservice.service.OfferService;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,21 +16,44 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class OfferServiceImplTest {
 
     @Mock
     private CalculationService calculationService;
+    private OfferTemplateCache offerTemplateCache;
     private OfferService offerService;
     private LoanApplicationRequestDTO loanApplication;
 
     @BeforeEach
     void setUp() {
-        offerService = new OfferServiceImpl(calculationService);
+        when(calculationService.calcRate(false, false)).thenReturn(new BigDecimal("11.25"));
+        when(calculationService.calcRate(false, true)).thenReturn(new BigDecimal("10.25"));
+        when(calculationService.calcRate(true, false)).thenReturn(new BigDecimal("10.25"));
+        when(calculationService.calcRate(true, true)).thenReturn(new BigDecimal("8.25"));
+        lenient().when(calculationService.amortize(any(), any(), any())).thenAnswer(invocation -> new AmortizationResult(
+                invocation.getArgument(1), invocation.getArgument(1), invocation.getArgument(0), List.of()));
+        lenient().when(calculationService.paymentCoefficient(any(), any())).thenReturn(BigDecimal.ONE);
+        lenient().when(calculationService.amortize(any(), any(), any(), any())).thenAnswer(invocation -> new AmortizationResult(
+                invocation.getArgument(1), invocation.getArgument(1), invocation.getArgument(0), List.of()));
+        offerTemplateCache = new OfferTemplateCache(16);
+        offerService = new OfferServiceImpl(calculationService, offerTemplateCache);
         loanApplication = new LoanApplicationRequestDTO(
                 BigDecimal.valueOf(15000),
                 6,
@@ -48,4 +74,131 @@ class OfferServiceImplTest {
         assertEquals(4, loanOffer.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    void repeatedLoanOffersAreServedFromCache() {
+        List<LoanOfferDTO> first = offerService.loanOffers(loanApplication);
+        List<LoanOfferDTO> second = offerService.loanOffers(loanApplication);
+
+        assertEquals(first, second);
+        assertEquals(3, offerTemplateCache.getMisses());
+        assertEquals(5, offerTemplateCache.getHits());
+        verify(calculationService, times(3)).amortize(any(), any(), any());
+    }
+
+    @Test
+    void equalAmountsWithDifferentScaleShareTemplates() {
+        offerService.loanOffers(loanApplication);
+        loanApplication.setAmount(new BigDecimal("15000.00"));
+        offerService.loanOffers(loanApplication);
+
+        assertEquals(3, offerTemplateCache.getMisses());
+        verify(calculationService, times(3)).amortize(any(), any(), any());
+    }
+
+    @Test
+    void parallelLoanOffersKeepOrderAndValues() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            OfferService parallelOfferService = new OfferServiceImpl(
+                    calculationService, new OfferTemplateCache(16), Optional.of(executor), 2000L);
+
+            List<LoanOfferDTO> expected = offerService.loanOffers(loanApplication);
+            List<LoanOfferDTO> actual = parallelOfferService.loanOffers(loanApplication);
+
+            assertEquals(expected, actual);
+            assertEquals(new BigDecimal("11.25"), actual.get(0).getRate());
+            assertEquals(new BigDecimal("8.25"), actual.get(3).getRate());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void parallelLoanOffersAreRejectedWhenThePoolIsFull() {
+        offerService.loanOffers(loanApplication);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        OfferService parallelOfferService = new OfferServiceImpl(
+                calculationService, new OfferTemplateCache(16), Optional.of(executor), 2000L);
+
+        assertThrows(RejectedExecutionException.class, () -> parallelOfferService.loanOffers(loanApplication));
+    }
+
+    @Test
+    void parallelLoanOffersAreRejectedAfterTheTimeout() throws InterruptedException {
+        offerService.loanOffers(loanApplication);
+        when(calculationService.amortize(any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return null;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            OfferService parallelOfferService = new OfferServiceImpl(
+                    calculationService, new OfferTemplateCache(16), Optional.of(executor), 50L);
+
+            assertThrows(RejectedExecutionException.class, () -> parallelOfferService.loanOffers(loanApplication));
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void offerGridMatchesSingleOffers() {
+        LibraryAmortizationEngine engine = new LibraryAmortizationEngine();
+        AnnuityAmortizationEngine annuityEngine = new AnnuityAmortizationEngine();
+        when(calculationService.amortize(any(), any(), any())).thenAnswer(invocation -> engine.amortize(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.<Integer>getArgument(2) * 12));
+        when(calculationService.paymentCoefficient(any(), any())).thenAnswer(invocation -> annuityEngine.paymentCoefficient(
+                invocation.getArgument(0), invocation.<Integer>getArgument(1) * 12));
+        when(calculationService.amortize(any(), any(), any(), any())).thenAnswer(invocation -> annuityEngine.amortize(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.<Integer>getArgument(2) * 12,
+                invocation.getArgument(3)));
+
+        List<OfferVariantDTO> variants = List.of(
+                new OfferVariantDTO(null, null),
+                new OfferVariantDTO(null, 12),
+                new OfferVariantDTO(new BigDecimal("250000"), null),
+                new OfferVariantDTO(new BigDecimal("123456.78"), 30),
+                new OfferVariantDTO(new BigDecimal("123456.78"), 12));
+
+        List<List<LoanOfferDTO>> grid = offerService.loanOfferGrid(new LoanOfferGridRequestDTO(loanApplication, variants));
+
+        assertEquals(variants.size(), grid.size());
+        for(int i = 0; i < variants.size(); i++) {
+            OfferVariantDTO variant = variants.get(i);
+            loanApplication.setAmount(variant.getAmount() != null ? variant.getAmount() : BigDecimal.valueOf(15000));
+            loanApplication.setTerm(variant.getTerm() != null ? variant.getTerm() : 6);
+            OfferService singleOffers = new OfferServiceImpl(calculationService, new OfferTemplateCache(16));
+            assertEquals(singleOffers.loanOffers(loanApplication), grid.get(i));
+        }
+    }
+
+    @Test
+    void offerGridPricesThroughCalculationServiceAndFillsOfferCache() {
+        offerService.loanOfferGrid(new LoanOfferGridRequestDTO(loanApplication, List.of(new OfferVariantDTO(null, null))));
+
+        List<LoanOfferDTO> offers = offerService.loanOffers(loanApplication);
+
+        assertEquals(4, offers.size());
+        assertEquals(3, offerTemplateCache.getMisses());
+        verify(calculationService, times(3)).amortize(any(), any(), any(), any());
+        verify(calculationService, never()).amortize(any(), any(), any());
+    }
+
+    @Test
+    void offerGridTakesOneCoefficientPerRateAndTerm() {
+        List<OfferVariantDTO> variants = List.of(
+                new OfferVariantDTO(new BigDecimal("15000"), null),
+                new OfferVariantDTO(new BigDecimal("20000"), null),
+                new OfferVariantDTO(new BigDecimal("25000"), null));
+
+        offerService.loanOfferGrid(new LoanOfferGridRequestDTO(loanApplication, variants));
+
+        verify(calculationService, times(3)).paymentCoefficient(any(), any());
+        verify(calculationService, times(9)).amortize(any(), any(), any(), any());
+    }
+
+}
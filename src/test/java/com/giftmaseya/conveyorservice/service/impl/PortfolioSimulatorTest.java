@@ -0,0 +1,128 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import com.giftmaseya.conveyorservice.utils.InputFormatEnum;
+import com.giftmaseya.conveyorservice.utils.RefusalReasonEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class PortfolioSimulatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2023, 6, 1);
+
+    private static final String NDJSON = String.join("\n",
+            "{\"amount\":100000,\"term\":2,\"gender\":\"FEMALE\",\"birthDate\":\"1993-01-01\",\"maritalStatus\":\"SINGLE\","
+                    + "\"dependentAmount\":0,\"employment\":{\"employmentStatus\":\"SELF_EMPLOYED\",\"salary\":50000,"
+                    + "\"position\":\"TOP_MANAGER\",\"workExperienceTotal\":24,\"workExperienceCurrent\":6}}",
+            "{\"amount\":20000,\"term\":1,\"gender\":\"MALE\",\"birthDate\":\"1998-01-01\",\"maritalStatus\":\"DIVORCED\","
+                    + "\"dependentAmount\":2,\"employment\":{\"employmentStatus\":\"EMPLOYED\",\"salary\":10000,"
+                    + "\"position\":\"WORKER\",\"workExperienceTotal\":24,\"workExperienceCurrent\":6}}",
+            "",
+            "{\"amount\":20000,\"term\":1,\"gender\":\"MALE\",\"birthDate\":\"1998-01-01\",\"maritalStatus\":\"DIVORCED\","
+                    + "\"dependentAmount\":2,\"employment\":{\"employmentStatus\":\"UNEMPLOYED\",\"salary\":10000,"
+                    + "\"position\":\"WORKER\",\"workExperienceTotal\":24,\"workExperienceCurrent\":6}}",
+            "not an application");
+
+    private static final String CSV = String.join("\n",
+            "term,amount,gender,birthDate,maritalStatus,dependentAmount,employmentStatus,salary,position,"
+                    + "workExperienceTotal,workExperienceCurrent,account",
+            "2,100000,FEMALE,1993-01-01,SINGLE,0,SELF_EMPLOYED,50000,TOP_MANAGER,24,6,",
+            "1,20000,MALE,1998-01-01,DIVORCED,2,EMPLOYED,10000,WORKER,24,6,40817810",
+            "1,20000,MALE,1998-01-01,DIVORCED,2,UNEMPLOYED,10000,WORKER,24,6,",
+            "1,20000,MALE,1998-01-01,DIVORCED,2,EMPLOYED,,WORKER,24,6,");
+
+    private ForkJoinPool pool;
+    private CalculationServiceImpl calculationService;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        ConveyorMetrics conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+        ScoringRules scoringRules = new ScoringRules(new ClassPathResource("scoring-rules.properties"), conveyorMetrics);
+        DueDateCalendar dueDateCalendar = new DueDateCalendar(Clock.systemDefaultZone(), 0);
+        calculationService = new CalculationServiceImpl(new AnnuityAmortizationEngine(), new ScoringTracer(Level.DEBUG),
+                conveyorMetrics, scoringRules, new CreditResultCache(0, 0, scoringRules), dueDateCalendar);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void aggregatesRatesRejectionsAndPsk() throws IOException {
+        PortfolioSimulator simulator = simulator(Collections.singletonList(baselineRules()));
+
+        SimulationResult result = simulator.run(new BufferedReader(new StringReader(NDJSON)), InputFormatEnum.NDJSON).get(0);
+
+        BigDecimal expectedPsk = calculationService.amortize(BigDecimal.valueOf(100000), new BigDecimal("6.75"), 2).getPsk()
+                .add(calculationService.amortize(BigDecimal.valueOf(20000), new BigDecimal("11.75"), 1).getPsk());
+
+        assertThat(simulator.getMalformed()).isEqualTo(1L);
+        assertThat(result.getApplications()).isEqualTo(3L);
+        assertThat(result.getScored()).isEqualTo(2L);
+        assertThat(result.getRejectionsByReason().get(RefusalReasonEnum.UNEMPLOYED)).isEqualTo(1L);
+        assertThat(result.getRateDistribution().get(new BigDecimal("6.75"))).isEqualTo(1L);
+        assertThat(result.getRateDistribution().get(new BigDecimal("11.75"))).isEqualTo(1L);
+        assertThat(result.getAverageRate()).isEqualTo(new BigDecimal("9.2500"));
+        assertThat(result.getTotalPsk()).isEqualTo(expectedPsk);
+    }
+
+    @Test
+    void variantRulesOnlyMoveAffectedApplications() throws IOException {
+        Properties variant = baselineRules();
+        variant.setProperty("position.TOP_MANAGER", "-3.5");
+
+        List<SimulationResult> results = simulator(Arrays.asList(baselineRules(), variant))
+                .run(new BufferedReader(new StringReader(NDJSON)), InputFormatEnum.NDJSON);
+
+        assertThat(results.get(1).getRateDistribution().get(new BigDecimal("7.25"))).isEqualTo(1L);
+        assertThat(results.get(1).getRateDistribution().get(new BigDecimal("11.75"))).isEqualTo(1L);
+        assertThat(results.get(1).getAverageRate()).isEqualTo(new BigDecimal("9.5000"));
+        assertThat(results.get(1).getRejected()).isEqualTo(results.get(0).getRejected());
+    }
+
+    @Test
+    void csvInputMatchesNdjson() throws IOException {
+        PortfolioSimulator ndjson = simulator(Collections.singletonList(baselineRules()));
+        PortfolioSimulator csv = simulator(Collections.singletonList(baselineRules()));
+
+        SimulationResult fromNdjson = ndjson.run(new BufferedReader(new StringReader(NDJSON)), InputFormatEnum.NDJSON).get(0);
+        SimulationResult fromCsv = csv.run(new BufferedReader(new StringReader(CSV)), InputFormatEnum.CSV).get(0);
+
+        assertThat(csv.getMalformed()).isEqualTo(1L);
+        assertThat(fromCsv.getApplications()).isEqualTo(fromNdjson.getApplications());
+        assertThat(fromCsv.getRateDistribution()).isEqualTo(fromNdjson.getRateDistribution());
+        assertThat(fromCsv.getTotalPsk()).isEqualTo(fromNdjson.getTotalPsk());
+    }
+
+    private PortfolioSimulator simulator(List<Properties> scenarios) {
+        return PortfolioSimulator.create(scenarios, calculationService, TODAY, pool);
+    }
+
+    private static Properties baselineRules() throws IOException {
+        Properties rules = new Properties();
+        try (InputStream in = new ClassPathResource("scoring-rules.properties").getInputStream()) {
+            rules.load(in);
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,93 @@
+package com.giftmaseya.conveyorservice.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class ScoringRulesTest {
+
+    private static final String RULES = "initial-rate=9.75\n"
+            + "dependent-rate=1\n"
+            + "employment-status.SELF_EMPLOYED=1\n"
+            + "employment-status.BUSINESS_OWNER=3\n"
+            + "position.TOP_MANAGER=-4\n"
+            + "position.MIDDLE_MANAGER=-2\n"
+            + "marital-status.MARRIED=-3\n"
+            + "marital-status.DIVORCED=1\n"
+            + "gender-age.FEMALE=-3\n"
+            + "gender-age.FEMALE.min-age=35\n"
+            + "gender-age.MALE=-3\n"
+            + "gender-age.MALE.min-age=30\n"
+            + "gender-age.MALE.max-age=55\n";
+
+    private Path rulesFile;
+    private ConveyorMetrics conveyorMetrics;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        rulesFile = Files.createTempFile("scoring-rules", ".properties");
+        rulesFile.toFile().deleteOnExit();
+        Files.writeString(rulesFile, RULES);
+        conveyorMetrics = new ConveyorMetrics(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void reloadIfModifiedSwapsInChangedRates() throws IOException {
+        ScoringRules scoringRules = new ScoringRules(new FileSystemResource(rulesFile), conveyorMetrics);
+        assertThat(scoringRules.current().initialRate()).isEqualTo(975);
+
+        rewrite(RULES.replace("initial-rate=9.75", "initial-rate=11.5"));
+        scoringRules.reloadIfModified();
+
+        assertThat(scoringRules.current().initialRate()).isEqualTo(1150);
+        assertThat(scoringRules.initialRate()).isEqualByComparingTo(new BigDecimal("11.5"));
+    }
+
+    @Test
+    void reloadIfModifiedKeepsPreviousRatesWhenFileIsInvalid() throws IOException {
+        ScoringRules scoringRules = new ScoringRules(new FileSystemResource(rulesFile), conveyorMetrics);
+        RateTable loaded = scoringRules.current();
+
+        rewrite(RULES.replace("initial-rate=9.75", "initial-rate=abc"));
+        scoringRules.reloadIfModified();
+
+        assertThat(scoringRules.current()).isSameAs(loaded);
+    }
+
+    @Test
+    void offerRatesFollowReloadedRules() throws IOException {
+        ScoringRules scoringRules = new ScoringRules(new FileSystemResource(rulesFile), conveyorMetrics);
+        assertThat(scoringRules.current().offerRate(false, false)).isEqualTo(1125);
+        assertThat(scoringRules.current().offerRate(true, true)).isEqualTo(825);
+
+        rewrite(RULES.replace("initial-rate=9.75", "initial-rate=10") + "offer.insurance-and-salary-client=-2\n");
+        scoringRules.reloadIfModified();
+
+        assertThat(scoringRules.current().offerRate(false, false)).isEqualTo(1150);
+        assertThat(scoringRules.current().offerRate(true, true)).isEqualTo(800);
+    }
+
+    @Test
+    void throwExceptionIfRulesAreInvalidAtStartup() throws IOException {
+        Files.writeString(rulesFile, RULES + "position.INTERN=1\n");
+
+        assertThatThrownBy(() -> new ScoringRules(new FileSystemResource(rulesFile), conveyorMetrics))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void rewrite(String rules) throws IOException {
+        FileTime previous = Files.getLastModifiedTime(rulesFile);
+        Files.writeString(rulesFile, rules);
+        Files.setLastModifiedTime(rulesFile, FileTime.fromMillis(previous.toMillis() + 1000));
+    }
+}
@@ -0,0 +1,44 @@
+package com.giftmaseya.conveyorservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class DecimalPolicyTest {
+
+    @Test
+    void monthlyInterestIsRoundedOnce() {
+        DecimalPolicy.MonthlyRate rate = DecimalPolicy.monthlyRate(new BigDecimal("4.75"));
+
+        assertThat(rate.interestCents(1500000)).isEqualTo(5938);
+        assertThat(rate.interestCents(1500001)).isEqualTo(5938);
+        assertThat(DecimalPolicy.monthlyRate(new BigDecimal("12.00")).interestCents(50)).isEqualTo(0);
+        assertThat(DecimalPolicy.monthlyRate(new BigDecimal("12.00")).interestCents(150)).isEqualTo(2);
+    }
+
+    @Test
+    void largeBalancesMatchBigDecimalInterest() {
+        BigDecimal percent = new BigDecimal("9.754321");
+        long debtCents = Long.MAX_VALUE / 1000;
+
+        long expected = BigDecimal.valueOf(debtCents).multiply(percent)
+                .divide(BigDecimal.valueOf(1200), 0, RoundingMode.HALF_EVEN).longValueExact();
+
+        assertThat(DecimalPolicy.monthlyRate(percent).interestCents(debtCents)).isEqualTo(expected);
+    }
+
+    @Test
+    void closedFormBalanceFollowsRoundedInstallments() {
+        DecimalPolicy.MonthlyRate rate = DecimalPolicy.monthlyRate(new BigDecimal("4.75"));
+        long debt = 1500000;
+        for(int payments = 1; payments <= 12; payments++) {
+            debt -= 128390 - rate.interestCents(debt);
+            assertThat(Math.abs(rate.balanceCents(1500000, 128390, payments) - debt)).isLessThanOrEqualTo(1L);
+        }
+
+        assertThat(DecimalPolicy.monthlyRate(BigDecimal.ZERO).balanceCents(1500000, 125000, 11)).isEqualTo(125000);
+    }
+}